@@ -10,6 +10,7 @@ plugins {
     alias(libs.plugins.indra.checkstyle) apply false
     alias(libs.plugins.test.logger)
     alias(libs.plugins.versions)
+    alias(libs.plugins.jmh) apply false
 }
 
 group = "love.broccolai.corn"
@@ -1,6 +1,6 @@
 rootProject.name = "corn-parent"
 
-projects("trove", "context", "properties", "minecraft")
+projects("trove", "trove-benchmarks", "context", "properties", "minecraft")
 
 fun projects(vararg names: String) {
     include(*names)
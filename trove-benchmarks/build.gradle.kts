@@ -0,0 +1,29 @@
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(projects.cornTrove)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
+
+// record the baseline with ./gradlew :trove-benchmarks:jmhBaseline on the reference hardware, using a stock jdk
+// of the project's java version with no agents or patched modules, then check in baseline/gc-baseline.json
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Runs the benchmarks and records their timings and gc allocation rates as the checked in baseline."
+
+    dependsOn(tasks.named("jmh"))
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("baseline"))
+    rename { "gc-baseline.json" }
+}
+
+tasks.withType<AbstractPublishToMaven> {
+    onlyIf { false }
+}
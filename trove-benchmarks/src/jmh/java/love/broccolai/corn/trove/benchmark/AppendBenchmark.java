@@ -0,0 +1,55 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.Trove;
+import love.broccolai.corn.trove.TroveBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares appending into segmented storage against growing an array list and copying it into a trove.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppendBenchmark {
+
+    @Param({"100000", "10000000"})
+    private int size;
+
+    @Benchmark
+    public long builder() {
+        TroveBuilder<Integer> builder = TroveBuilder.create();
+
+        for (int index = 0; index < this.size; index++) {
+            builder.add(index);
+        }
+
+        return builder.build().longSize();
+    }
+
+    @Benchmark
+    public long arrayList() {
+        List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < this.size; index++) {
+            source.add(index);
+        }
+
+        return Trove.of(source).longSize();
+    }
+
+}
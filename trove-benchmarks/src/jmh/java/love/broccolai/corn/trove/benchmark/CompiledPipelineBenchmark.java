@@ -0,0 +1,113 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import love.broccolai.corn.trove.Trove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares several distinct lazy pipelines, whose shared call sites turn megamorphic when they
+ * run in the same JVM, against the same pipelines compiled into loops of their own.
+ *
+ * <p>Recorded pipelines compile the stages a lazy trove recorded. Parallel compiled pipelines
+ * compile over a parallel trove and stay parallel, there is no uncompiled parallel counterpart
+ * since parallel troves run their stages eagerly.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledPipelineBenchmark {
+
+    private static final List<Function<Trove<Integer>, Trove<Integer>>> PIPELINES = List.of(
+        trove -> trove.filter(value -> value % 3 == 0).map(value -> value + 1),
+        trove -> trove.filter(value -> (value & 1) == 0).map(value -> value * 3),
+        trove -> trove.map(value -> value - 7).filter(value -> value > 1_000),
+        trove -> trove.filter(value -> value % 5 != 0).map(value -> value ^ 5),
+        trove -> trove.map(value -> value >> 1).filter(value -> value % 7 == 1),
+        trove -> trove.filter(value -> value < 0).map(value -> value | 1)
+    );
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Trove<Integer>> lazy;
+    private List<Trove<Integer>> compiled;
+    private List<Trove<Integer>> recorded;
+    private List<Trove<Integer>> parallelCompiled;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Integer> source = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            source.add(random.nextInt());
+        }
+
+        Trove<Integer> trove = Trove.of(source);
+
+        this.lazy = new ArrayList<>();
+        this.compiled = new ArrayList<>();
+        this.recorded = new ArrayList<>();
+        this.parallelCompiled = new ArrayList<>();
+
+        for (Function<Trove<Integer>, Trove<Integer>> pipeline : PIPELINES) {
+            this.lazy.add(pipeline.apply(trove.lazy()));
+            this.compiled.add(pipeline.apply(trove.compile()));
+            this.recorded.add(pipeline.apply(trove.lazy()).compile());
+            this.parallelCompiled.add(pipeline.apply(trove.parallel().compile()));
+        }
+    }
+
+    @Benchmark
+    public Integer lazyPipelines() {
+        return run(this.lazy);
+    }
+
+    @Benchmark
+    public Integer compiledPipelines() {
+        return run(this.compiled);
+    }
+
+    @Benchmark
+    public Integer recordedPipelines() {
+        return run(this.recorded);
+    }
+
+    @Benchmark
+    public Integer parallelCompiledPipelines() {
+        return run(this.parallelCompiled);
+    }
+
+    private static Integer run(final List<Trove<Integer>> pipelines) {
+        Integer result = Integer.MIN_VALUE;
+
+        // every pipeline runs in each invocation, so the lazy call sites see all their lambdas
+        for (Trove<Integer> pipeline : pipelines) {
+            result = higher(result, pipeline.reduce(Integer.MIN_VALUE, CompiledPipelineBenchmark::higher));
+        }
+
+        return result;
+    }
+
+    private static Integer higher(final Integer left, final Integer right) {
+        return right > left ? right : left;
+    }
+
+}
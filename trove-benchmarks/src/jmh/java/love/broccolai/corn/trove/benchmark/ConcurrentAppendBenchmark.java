@@ -0,0 +1,55 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.TroveBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares appending from several threads into a concurrent builder against a synchronized list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentAppendBenchmark {
+
+    private static final Integer ELEMENT = 42;
+
+    private TroveBuilder<Integer> builder;
+    private List<Integer> list;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.builder = TroveBuilder.concurrent();
+        this.list = new ArrayList<>();
+    }
+
+    @Benchmark
+    public void concurrentBuilder() {
+        this.builder.add(ELEMENT);
+    }
+
+    @Benchmark
+    public void synchronizedList() {
+        synchronized (this.list) {
+            this.list.add(ELEMENT);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.Trove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hash based grouping against the enum and dense index specializations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupingBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private Trove<Entity> trove;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        TimeUnit[] units = TimeUnit.values();
+        List<Entity> entities = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            entities.add(new Entity(units[random.nextInt(units.length)], random.nextInt(8)));
+        }
+
+        this.trove = Trove.of(entities);
+    }
+
+    @Benchmark
+    public Map<TimeUnit, Collection<Entity>> enumHashed() {
+        return this.trove.group(Entity::unit);
+    }
+
+    @Benchmark
+    public Map<TimeUnit, Collection<Entity>> enumBuckets() {
+        return this.trove.groupByEnum(TimeUnit.class, Entity::unit);
+    }
+
+    @Benchmark
+    public Map<Integer, Collection<Entity>> indexHashed() {
+        return this.trove.group(Entity::world);
+    }
+
+    @Benchmark
+    public List<Trove<Entity>> indexBuckets() {
+        return this.trove.groupByIndex(8, Entity::world);
+    }
+
+    public record Entity(TimeUnit unit, int world) {
+    }
+
+}
@@ -0,0 +1,84 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.SortedTrove;
+import love.broccolai.corn.trove.Trove;
+import love.broccolai.corn.trove.TroveKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hash joins against merge joins of presorted troves, and range lookups against scans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinBenchmark {
+
+    private static final TroveKey<Integer, Integer> KEY = TroveKey.of(value -> value);
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Trove<Integer> left;
+    private Trove<Integer> right;
+    private SortedTrove<Integer> sortedLeft;
+    private SortedTrove<Integer> sortedRight;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Integer> left = new ArrayList<>(this.size);
+        List<Integer> right = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            left.add(random.nextInt(this.size));
+            right.add(random.nextInt(this.size));
+        }
+
+        this.left = Trove.of(left);
+        this.right = Trove.of(right);
+        this.sortedLeft = this.left.sorted(KEY);
+        this.sortedRight = this.right.sorted(KEY);
+    }
+
+    @Benchmark
+    public List<Long> hashJoin() {
+        return this.left.join(this.right, KEY, KEY, (first, second) -> (long) first + second).toList();
+    }
+
+    @Benchmark
+    public List<Long> mergeJoin() {
+        return this.sortedLeft.join(this.sortedRight, KEY, KEY, (first, second) -> (long) first + second).toList();
+    }
+
+    @Benchmark
+    public List<Integer> rangeScan() {
+        int from = this.size / 2;
+
+        return this.sortedLeft.filter(value -> value >= from && value < from + 100).toList();
+    }
+
+    @Benchmark
+    public List<Integer> rangeLookup() {
+        int from = this.size / 2;
+
+        return this.sortedLeft.range(from, from + 100).toList();
+    }
+
+}
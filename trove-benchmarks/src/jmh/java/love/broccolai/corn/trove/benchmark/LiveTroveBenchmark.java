@@ -0,0 +1,96 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.Trove;
+import love.broccolai.corn.trove.live.ObservableTrove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a tick that updates a few elements of a large source, either maintaining live
+ * views incrementally or recomputing the same pipeline from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiveTroveBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"1", "100"})
+    private int changes;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private List<Entity> entities;
+    private ObservableTrove<Entity> observable;
+    private Map<Integer, Long> liveCounts;
+    private Map<Integer, Collection<Entity>> liveGroups;
+
+    @Setup
+    public void setup() {
+        this.entities = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            this.entities.add(new Entity(this.random.nextInt(16), this.random.nextInt(100)));
+        }
+
+        this.observable = ObservableTrove.of(this.entities);
+        this.liveCounts = this.observable.filter(entity -> entity.health > 50).countBy(entity -> entity.world);
+        this.liveGroups = this.observable.filter(entity -> entity.health > 50).group(entity -> entity.world);
+    }
+
+    @Benchmark
+    public int incremental() {
+        for (int change = 0; change < this.changes; change++) {
+            Entity entity = this.entities.get(this.random.nextInt(this.size));
+            entity.health = this.random.nextInt(100);
+            this.observable.update(entity);
+        }
+
+        return this.liveCounts.size() + this.liveGroups.size();
+    }
+
+    @Benchmark
+    public int recompute() {
+        for (int change = 0; change < this.changes; change++) {
+            Entity entity = this.entities.get(this.random.nextInt(this.size));
+            entity.health = this.random.nextInt(100);
+        }
+
+        Trove<Entity> alive = Trove.of(this.entities).filter(entity -> entity.health > 50);
+        Map<Integer, Collection<Entity>> groups = alive.group(entity -> entity.world);
+
+        return groups.size() + alive.toList().size();
+    }
+
+    private static final class Entity {
+
+        private final int world;
+        private int health;
+
+        private Entity(final int world, final int health) {
+            this.world = world;
+            this.health = health;
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.OffHeapTrove;
+import love.broccolai.corn.trove.Trove;
+import love.broccolai.corn.trove.TroveLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares garbage collection pauses and scan cost of block change records held on and off the heap.
+ *
+ * <p>{@code fullCollection} times a full collection while the records are live, which is where a
+ * large on heap trove costs the most.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=2g"})
+public class OffHeapBenchmark {
+
+    private static final TroveLayout<BlockChange> LAYOUT = new TroveLayout<>() {
+        @Override
+        public int width() {
+            return 20;
+        }
+
+        @Override
+        public void write(final ByteBuffer records, final int offset, final BlockChange element) {
+            records.putInt(offset, element.x());
+            records.putInt(offset + 4, element.y());
+            records.putInt(offset + 8, element.z());
+            records.putLong(offset + 12, element.block());
+        }
+
+        @Override
+        public BlockChange read(final ByteBuffer records, final int offset) {
+            return new BlockChange(
+                records.getInt(offset),
+                records.getInt(offset + 4),
+                records.getInt(offset + 8),
+                records.getLong(offset + 12)
+            );
+        }
+    };
+
+    @Param({"10000000"})
+    private int size;
+
+    @Param({"heap", "offHeap"})
+    private String storage;
+
+    private Trove<BlockChange> heap;
+    private OffHeapTrove<BlockChange> offHeap;
+
+    @Setup
+    public void setup() {
+        List<BlockChange> changes = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            changes.add(new BlockChange(index & 1023, index % 384, index >> 10, index * 31L));
+        }
+
+        if (this.storage.equals("heap")) {
+            this.heap = Trove.of(changes);
+        } else {
+            this.offHeap = OffHeapTrove.of(changes, LAYOUT);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.offHeap != null) {
+            this.offHeap.close();
+        }
+    }
+
+    @Benchmark
+    public void fullCollection() {
+        System.gc();
+    }
+
+    @Benchmark
+    public long filterReduce() {
+        if (this.offHeap != null) {
+            return this.offHeap.reduceRecords(0, (sum, records, offset) -> {
+                return records.getInt(offset + 4) == 64 ? sum + records.getLong(offset + 12) : sum;
+            });
+        }
+
+        return this.heap.filter(change -> change.y() == 64).map(BlockChange::block).reduce(0L, Long::sum);
+    }
+
+    public record BlockChange(int x, int y, int z, long block) {
+    }
+
+}
@@ -0,0 +1,266 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import love.broccolai.corn.trove.Trove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares every core trove operation against the equivalent stream pipeline and a plain loop.
+ *
+ * <p>Elements are either boxed integers or short strings, operations derive what they need from
+ * the element hash code so both kinds run the same pipelines.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"integer", "string"})
+    private String kind;
+
+    private List<Object> source;
+    private List<Integer> hashes;
+    private Trove<Object> trove;
+    private Trove<Integer> hashTrove;
+    private Object early;
+    private Object late;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        this.source = new ArrayList<>(this.size);
+        this.hashes = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            int value = random.nextInt();
+            Object element = this.kind.equals("integer") ? Integer.valueOf(value) : Integer.toHexString(value);
+
+            this.source.add(element);
+            this.hashes.add(element.hashCode());
+        }
+
+        this.trove = Trove.of(this.source);
+        this.hashTrove = Trove.of(this.hashes);
+        // first searches for an element late in the source and last for one early, so both scan most of it
+        this.late = this.source.get(this.size * 3 / 4);
+        this.early = this.source.get(this.size / 4);
+    }
+
+    @Benchmark
+    public List<Integer> mapTrove() {
+        return this.trove.map(Object::hashCode).toList();
+    }
+
+    @Benchmark
+    public List<Integer> mapStream() {
+        return this.source.stream().map(Object::hashCode).toList();
+    }
+
+    @Benchmark
+    public List<Integer> mapLoop() {
+        List<Integer> result = new ArrayList<>(this.source.size());
+
+        for (Object element : this.source) {
+            result.add(element.hashCode());
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> filterTrove() {
+        return this.trove.filter(element -> (element.hashCode() & 1) == 0).toList();
+    }
+
+    @Benchmark
+    public List<Object> filterStream() {
+        return this.source.stream().filter(element -> (element.hashCode() & 1) == 0).toList();
+    }
+
+    @Benchmark
+    public List<Object> filterLoop() {
+        List<Object> result = new ArrayList<>();
+
+        for (Object element : this.source) {
+            if ((element.hashCode() & 1) == 0) {
+                result.add(element);
+            }
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> flatMapTrove() {
+        return this.trove.flatMap(element -> List.of(element, element)).toList();
+    }
+
+    @Benchmark
+    public List<Object> flatMapStream() {
+        return this.source.stream().flatMap(element -> List.of(element, element).stream()).toList();
+    }
+
+    @Benchmark
+    public List<Object> flatMapLoop() {
+        List<Object> result = new ArrayList<>(this.source.size() * 2);
+
+        for (Object element : this.source) {
+            result.add(element);
+            result.add(element);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public Map<Integer, Collection<Object>> groupTrove() {
+        return this.trove.group(element -> element.hashCode() & 15);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupStream() {
+        return this.source.stream().collect(Collectors.groupingBy(element -> element.hashCode() & 15));
+    }
+
+    @Benchmark
+    public Map<Integer, Collection<Object>> groupLoop() {
+        Map<Integer, Collection<Object>> result = new HashMap<>();
+
+        for (Object element : this.source) {
+            result.computeIfAbsent(element.hashCode() & 15, $ -> new ArrayList<>()).add(element);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public Object reduceTrove() {
+        return this.trove.reduce(this.source.get(0), OperationsBenchmark::higherHash);
+    }
+
+    @Benchmark
+    public Object reduceStream() {
+        return this.source.stream().reduce(this.source.get(0), OperationsBenchmark::higherHash);
+    }
+
+    @Benchmark
+    public Object reduceLoop() {
+        Object result = this.source.get(0);
+
+        for (Object element : this.source) {
+            result = higherHash(result, element);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public int averageTrove() {
+        return this.hashTrove.average(0, Integer::sum, (sum, count) -> sum / count);
+    }
+
+    @Benchmark
+    public double averageStream() {
+        return this.hashes.stream().mapToInt(Integer::intValue).average().orElse(0);
+    }
+
+    @Benchmark
+    public int averageLoop() {
+        int sum = 0;
+
+        for (Integer hash : this.hashes) {
+            sum += hash;
+        }
+
+        return sum / this.hashes.size();
+    }
+
+    @Benchmark
+    public Optional<Object> firstTrove() {
+        return this.trove.first(element -> element.equals(this.late));
+    }
+
+    @Benchmark
+    public Optional<Object> firstStream() {
+        return this.source.stream().filter(element -> element.equals(this.late)).findFirst();
+    }
+
+    @Benchmark
+    public Object firstLoop() {
+        for (Object element : this.source) {
+            if (element.equals(this.late)) {
+                return element;
+            }
+        }
+
+        return this.late;
+    }
+
+    @Benchmark
+    public Optional<Object> lastTrove() {
+        return this.trove.last(element -> element.equals(this.early));
+    }
+
+    @Benchmark
+    public Optional<Object> lastStream() {
+        return this.source.stream().filter(element -> element.equals(this.early)).reduce(($, element) -> element);
+    }
+
+    @Benchmark
+    public Object lastLoop() {
+        for (int index = this.source.size() - 1; index >= 0; index--) {
+            if (this.source.get(index).equals(this.early)) {
+                return this.source.get(index);
+            }
+        }
+
+        return this.early;
+    }
+
+    @Benchmark
+    public Set<Object> collectTrove() {
+        return this.trove.collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public Set<Object> collectStream() {
+        return this.source.stream().collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public Set<Object> collectLoop() {
+        return new HashSet<>(this.source);
+    }
+
+    private static Object higherHash(final Object left, final Object right) {
+        return right.hashCode() > left.hashCode() ? right : left;
+    }
+
+}
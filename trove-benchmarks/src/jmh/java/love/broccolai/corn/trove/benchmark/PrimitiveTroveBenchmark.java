@@ -0,0 +1,192 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.DoubleTrove;
+import love.broccolai.corn.trove.IntTrove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the primitive trove kernels against straightforward scalar loops.
+ *
+ * <p>Trove benchmarks run in forks without the incubating vector module and so measure the
+ * scalar kernels, their vector counterparts run the same calls in forks that resolve it.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveTroveBenchmark {
+
+    private static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    private int[] ints;
+    private double[] doubles;
+    private IntTrove intTrove;
+    private DoubleTrove doubleTrove;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        this.ints = random.ints(this.size, -1_000, 1_000).toArray();
+        this.doubles = random.doubles(this.size, -1_000, 1_000).toArray();
+        this.intTrove = IntTrove.of(this.ints);
+        this.doubleTrove = DoubleTrove.of(this.doubles);
+    }
+
+    @Benchmark
+    public long intSumScalar() {
+        long sum = 0;
+
+        for (int value : this.ints) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long intSumTrove() {
+        return this.intTrove.sum();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public long intSumTroveVector() {
+        return this.intTrove.sum();
+    }
+
+    @Benchmark
+    public int intMaxScalar() {
+        int max = Integer.MIN_VALUE;
+
+        for (int value : this.ints) {
+            if (value > max) {
+                max = value;
+            }
+        }
+
+        return max;
+    }
+
+    @Benchmark
+    public int intMaxTrove() {
+        return this.intTrove.max().orElseThrow();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public int intMaxTroveVector() {
+        return this.intTrove.max().orElseThrow();
+    }
+
+    @Benchmark
+    public int intFilterRangeScalar() {
+        int[] output = new int[this.ints.length];
+        int count = 0;
+
+        for (int value : this.ints) {
+            if (value >= -100 && value <= 100) {
+                output[count++] = value;
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int intFilterRangeTrove() {
+        return this.intTrove.filterRange(-100, 100).size();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public int intFilterRangeTroveVector() {
+        return this.intTrove.filterRange(-100, 100).size();
+    }
+
+    @Benchmark
+    public int[] intMultiplyScalar() {
+        int[] output = new int[this.ints.length];
+
+        for (int index = 0; index < this.ints.length; index++) {
+            output[index] = this.ints[index] * 3;
+        }
+
+        return output;
+    }
+
+    @Benchmark
+    public IntTrove intMultiplyTrove() {
+        return this.intTrove.multiply(3);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public IntTrove intMultiplyTroveVector() {
+        return this.intTrove.multiply(3);
+    }
+
+    @Benchmark
+    public double doubleSumScalar() {
+        double sum = 0;
+
+        for (double value : this.doubles) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public double doubleSumTrove() {
+        return this.doubleTrove.sum();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public double doubleSumTroveVector() {
+        return this.doubleTrove.sum();
+    }
+
+    @Benchmark
+    public double doubleMinScalar() {
+        double min = Double.POSITIVE_INFINITY;
+
+        for (double value : this.doubles) {
+            if (value < min) {
+                min = value;
+            }
+        }
+
+        return min;
+    }
+
+    @Benchmark
+    public double doubleMinTrove() {
+        return this.doubleTrove.min().orElseThrow();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public double doubleMinTroveVector() {
+        return this.doubleTrove.min().orElseThrow();
+    }
+
+}
@@ -0,0 +1,72 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.Trove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sorting by a primitive key through a comparator, a radix sort and a parallel merge sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Trove<Score> trove;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Score> scores = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            scores.add(new Score(random.nextInt(), random.nextLong()));
+        }
+
+        this.trove = Trove.of(scores);
+    }
+
+    @Benchmark
+    public List<Score> comparator() {
+        return this.trove.sorted(Comparator.comparingInt(Score::points)).toList();
+    }
+
+    @Benchmark
+    public List<Score> radixInt() {
+        return this.trove.sortedByInt(Score::points).toList();
+    }
+
+    @Benchmark
+    public List<Score> radixLong() {
+        return this.trove.sortedByLong(Score::timestamp).toList();
+    }
+
+    @Benchmark
+    public List<Score> parallelComparator() {
+        return this.trove.parallel().sorted(Comparator.comparingInt(Score::points)).toList();
+    }
+
+    public record Score(int points, long timestamp) {
+    }
+
+}
@@ -0,0 +1,68 @@
+package love.broccolai.corn.trove.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import love.broccolai.corn.trove.Trove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parallel streams over a trove's own spliterator against copying it first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamInteropBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int size;
+
+    private Trove<Integer> trove;
+    private Trove<Integer> filtered;
+
+    @Setup
+    public void setup() {
+        List<Integer> source = new ArrayList<>(this.size);
+
+        for (int index = 0; index < this.size; index++) {
+            source.add(index);
+        }
+
+        this.trove = Trove.of(source);
+        this.filtered = this.trove.filter(value -> value % 3 != 0);
+    }
+
+    @Benchmark
+    public long spliteratorParallel() {
+        return this.trove.stream().parallel().mapToLong(value -> value * 31L).sum();
+    }
+
+    @Benchmark
+    public long copiedParallel() {
+        return this.trove.toList().parallelStream().mapToLong(value -> value * 31L).sum();
+    }
+
+    @Benchmark
+    public long filteredSpliteratorParallel() {
+        return this.filtered.stream().parallel().mapToLong(value -> value * 31L).sum();
+    }
+
+    @Benchmark
+    public long filteredCopiedParallel() {
+        return this.filtered.toList().parallelStream().mapToLong(value -> value * 31L).sum();
+    }
+
+}
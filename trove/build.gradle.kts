@@ -0,0 +1,67 @@
+// the vector kernels link against the incubating vector api, and javac warns about incubating modules without a lint key
+// to turn that off. they compile in a source set of their own with warnings off, so the rest of trove never resolves the
+// module and stays warning clean
+val vector by sourceSets.creating
+
+sourceSets.main {
+    compileClasspath += vector.output
+    runtimeClasspath += vector.output
+}
+
+sourceSets.test {
+    compileClasspath += vector.output
+    runtimeClasspath += vector.output
+}
+
+dependencies {
+    "vectorCompileOnly"(libs.jspecify)
+}
+
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+    options.compilerArgs.addAll(listOf("--add-modules=jdk.incubator.vector", "-nowarn"))
+}
+
+tasks.jar {
+    from(vector.output)
+}
+
+tasks.named<Jar>("sourcesJar") {
+    from(vector.allSource)
+}
+
+// allocation budgets break under coverage agents and the like, so they run in a task of their own that such tooling can leave out
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("allocation")
+    }
+}
+
+val allocationTest by tasks.registering(Test::class) {
+    description = "Runs the allocation budget tests."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+
+    useJUnitPlatform {
+        includeTags("allocation")
+    }
+}
+
+// the regular test run leaves the module out and covers the scalar kernels, this one resolves it to cover the vector kernels
+val vectorTest by tasks.registering(Test::class) {
+    description = "Runs the tests with the incubating vector module resolved."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+
+    useJUnitPlatform {
+        excludeTags("allocation")
+    }
+    jvmArgs("--add-modules=jdk.incubator.vector")
+}
+
+tasks.check {
+    dependsOn(allocationTest, vectorTest)
+}
@@ -0,0 +1,114 @@
+package love.broccolai.corn.trove;
+
+import java.util.List;
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Conjunction of pure predicates that reorders itself by measured cost and selectivity.
+ *
+ * <p>Every {@link #SAMPLE_INTERVAL}th element is tested against every predicate while timing
+ * each one, all other elements short-circuit in the current order. Every
+ * {@link #REORDER_INTERVAL} elements the predicates are ranked by
+ * {@code cost / (1 - pass rate)}, which puts cheap predicates that reject a lot first, and the
+ * statistics are halved so the order keeps adapting when the data changes.</p>
+ */
+@NullMarked
+final class AdaptiveFilter<T> implements Predicate<T> {
+
+    private static final int SAMPLE_INTERVAL = 64;
+    private static final int REORDER_INTERVAL = 1024;
+
+    private final Predicate<? super T>[] predicates;
+    private final int[] order;
+    private final long[] nanos;
+    private final long[] tests;
+    private final long[] passes;
+    private int seen;
+
+    @SuppressWarnings("unchecked")
+    AdaptiveFilter(final List<Predicate<? super T>> predicates) {
+        this.predicates = predicates.toArray(Predicate[]::new);
+        this.order = new int[this.predicates.length];
+        this.nanos = new long[this.predicates.length];
+        this.tests = new long[this.predicates.length];
+        this.passes = new long[this.predicates.length];
+
+        for (int index = 0; index < this.order.length; index++) {
+            this.order[index] = index;
+        }
+    }
+
+    @Override
+    public boolean test(final T entry) {
+        int count = ++this.seen;
+
+        if (count % REORDER_INTERVAL == 0) {
+            this.reorder();
+        }
+
+        if (count % SAMPLE_INTERVAL == 0) {
+            return this.sample(entry);
+        }
+
+        for (int index : this.order) {
+            if (!this.predicates[index].test(entry)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean sample(final T entry) {
+        boolean result = true;
+
+        for (int index = 0; index < this.predicates.length; index++) {
+            long start = System.nanoTime();
+            boolean passed = this.predicates[index].test(entry);
+            this.nanos[index] += System.nanoTime() - start;
+            this.tests[index]++;
+
+            if (passed) {
+                this.passes[index]++;
+            } else {
+                result = false;
+            }
+        }
+
+        return result;
+    }
+
+    private void reorder() {
+        double[] ranks = new double[this.predicates.length];
+
+        for (int index = 0; index < ranks.length; index++) {
+            if (this.tests[index] == 0) {
+                continue;
+            }
+
+            double cost = (double) this.nanos[index] / this.tests[index];
+            double rejection = 1 - (double) this.passes[index] / this.tests[index];
+
+            ranks[index] = rejection == 0 ? Double.POSITIVE_INFINITY : cost / rejection;
+
+            this.nanos[index] /= 2;
+            this.tests[index] /= 2;
+            this.passes[index] /= 2;
+        }
+
+        // insertion sort, chains are short and usually already ordered
+        for (int outer = 1; outer < this.order.length; outer++) {
+            int current = this.order[outer];
+            int inner = outer - 1;
+
+            while (inner >= 0 && ranks[this.order[inner]] > ranks[current]) {
+                this.order[inner + 1] = this.order[inner];
+                inner--;
+            }
+
+            this.order[inner + 1] = current;
+        }
+    }
+
+}
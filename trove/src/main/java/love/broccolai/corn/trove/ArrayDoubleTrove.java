@@ -0,0 +1,116 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class ArrayDoubleTrove implements DoubleTrove {
+
+    private final double[] values;
+    private final int length;
+
+    ArrayDoubleTrove(final double[] values) {
+        this(values, values.length);
+    }
+
+    ArrayDoubleTrove(final double[] values, final int length) {
+        this.values = values;
+        this.length = length;
+    }
+
+    @Override
+    public int size() {
+        return this.length;
+    }
+
+    @Override
+    public double sum() {
+        return PrimitiveKernels.sum(this.values, this.length);
+    }
+
+    @Override
+    public OptionalDouble min() {
+        if (this.length == 0) {
+            return OptionalDouble.empty();
+        }
+
+        return OptionalDouble.of(PrimitiveKernels.min(this.values, this.length));
+    }
+
+    @Override
+    public OptionalDouble max() {
+        if (this.length == 0) {
+            return OptionalDouble.empty();
+        }
+
+        return OptionalDouble.of(PrimitiveKernels.max(this.values, this.length));
+    }
+
+    @Override
+    public DoubleTrove filterRange(final double min, final double max) {
+        if (min > max) {
+            return new ArrayDoubleTrove(new double[0]);
+        }
+
+        double[] output = new double[this.length];
+        int count = PrimitiveKernels.filterRange(this.values, this.length, min, max, output);
+
+        return new ArrayDoubleTrove(output, count);
+    }
+
+    @Override
+    public DoubleTrove add(final double value) {
+        double[] output = new double[this.length];
+        PrimitiveKernels.add(this.values, this.length, value, output);
+
+        return new ArrayDoubleTrove(output);
+    }
+
+    @Override
+    public DoubleTrove multiply(final double value) {
+        double[] output = new double[this.length];
+        PrimitiveKernels.multiply(this.values, this.length, value, output);
+
+        return new ArrayDoubleTrove(output);
+    }
+
+    @Override
+    public DoubleTrove map(final DoubleUnaryOperator mapper) {
+        double[] output = new double[this.length];
+
+        for (int index = 0; index < this.length; index++) {
+            output[index] = mapper.applyAsDouble(this.values[index]);
+        }
+
+        return new ArrayDoubleTrove(output);
+    }
+
+    @Override
+    public void forEach(final DoubleConsumer consumer) {
+        for (int index = 0; index < this.length; index++) {
+            consumer.accept(this.values[index]);
+        }
+    }
+
+    @Override
+    public Trove<Double> boxed() {
+        List<Double> result = new ArrayList<>(this.length);
+
+        for (int index = 0; index < this.length; index++) {
+            result.add(this.values[index]);
+        }
+
+        return new ListBackedTrove<>(result);
+    }
+
+    @Override
+    public double[] toArray() {
+        return Arrays.copyOf(this.values, this.length);
+    }
+
+}
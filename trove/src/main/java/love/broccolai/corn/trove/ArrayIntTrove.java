@@ -0,0 +1,116 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class ArrayIntTrove implements IntTrove {
+
+    private final int[] values;
+    private final int length;
+
+    ArrayIntTrove(final int[] values) {
+        this(values, values.length);
+    }
+
+    ArrayIntTrove(final int[] values, final int length) {
+        this.values = values;
+        this.length = length;
+    }
+
+    @Override
+    public int size() {
+        return this.length;
+    }
+
+    @Override
+    public long sum() {
+        return PrimitiveKernels.sum(this.values, this.length);
+    }
+
+    @Override
+    public OptionalInt min() {
+        if (this.length == 0) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of(PrimitiveKernels.min(this.values, this.length));
+    }
+
+    @Override
+    public OptionalInt max() {
+        if (this.length == 0) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of(PrimitiveKernels.max(this.values, this.length));
+    }
+
+    @Override
+    public IntTrove filterRange(final int min, final int max) {
+        if (min > max) {
+            return new ArrayIntTrove(new int[0]);
+        }
+
+        int[] output = new int[this.length];
+        int count = PrimitiveKernels.filterRange(this.values, this.length, min, max, output);
+
+        return new ArrayIntTrove(output, count);
+    }
+
+    @Override
+    public IntTrove add(final int value) {
+        int[] output = new int[this.length];
+        PrimitiveKernels.add(this.values, this.length, value, output);
+
+        return new ArrayIntTrove(output);
+    }
+
+    @Override
+    public IntTrove multiply(final int value) {
+        int[] output = new int[this.length];
+        PrimitiveKernels.multiply(this.values, this.length, value, output);
+
+        return new ArrayIntTrove(output);
+    }
+
+    @Override
+    public IntTrove map(final IntUnaryOperator mapper) {
+        int[] output = new int[this.length];
+
+        for (int index = 0; index < this.length; index++) {
+            output[index] = mapper.applyAsInt(this.values[index]);
+        }
+
+        return new ArrayIntTrove(output);
+    }
+
+    @Override
+    public void forEach(final IntConsumer consumer) {
+        for (int index = 0; index < this.length; index++) {
+            consumer.accept(this.values[index]);
+        }
+    }
+
+    @Override
+    public Trove<Integer> boxed() {
+        List<Integer> result = new ArrayList<>(this.length);
+
+        for (int index = 0; index < this.length; index++) {
+            result.add(this.values[index]);
+        }
+
+        return new ListBackedTrove<>(result);
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOf(this.values, this.length);
+    }
+
+}
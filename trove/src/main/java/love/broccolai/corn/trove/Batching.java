@@ -0,0 +1,171 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+@NullMarked
+final class Batching {
+
+    private Batching() {
+    }
+
+    /**
+     * Pass the elements to a consumer in batches, reusing a single buffer for every batch.
+     */
+    static <T> void forEach(final Spliterator<T> elements, final int size, final Consumer<? super List<T>> consumer) {
+        requirePositive("size", size);
+
+        Batch<T> batch = new Batch<>(size);
+
+        elements.forEachRemaining(element -> {
+            batch.elements.add(element);
+
+            if (batch.elements.size() == size) {
+                consumer.accept(batch.view);
+                batch.elements.clear();
+            }
+        });
+
+        if (!batch.elements.isEmpty()) {
+            consumer.accept(batch.view);
+        }
+    }
+
+    /**
+     * Pass the elements to an asynchronous sink in batches, keeping at most a given amount of
+     * batches in flight and recycling the buffer of every completed batch.
+     */
+    static <T> CompletableFuture<Void> forEachAsync(
+        final Spliterator<T> elements,
+        final int size,
+        final Function<? super List<T>, ? extends CompletionStage<?>> sink,
+        final int maxInFlight
+    ) {
+        requirePositive("size", size);
+        requirePositive("maxInFlight", maxInFlight);
+
+        Pipeline<T> pipeline = new Pipeline<>(size, sink, maxInFlight);
+
+        try {
+            elements.forEachRemaining(pipeline::accept);
+            pipeline.flush();
+        } catch (final RuntimeException exception) {
+            // a failed batch or traversal stops further submissions, the batches in flight still settle
+            return pipeline.settle(exception);
+        }
+
+        return pipeline.settle(null);
+    }
+
+    private static void requirePositive(final String name, final int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive, got " + value);
+        }
+    }
+
+    private static final class Pipeline<T> {
+
+        private final int size;
+        private final Function<? super List<T>, ? extends CompletionStage<?>> sink;
+        private final int maxInFlight;
+        private final ArrayDeque<Batch<T>> inFlight;
+        private final ArrayDeque<Batch<T>> idle = new ArrayDeque<>();
+        private Batch<T> current;
+
+        private Pipeline(final int size, final Function<? super List<T>, ? extends CompletionStage<?>> sink, final int maxInFlight) {
+            this.size = size;
+            this.sink = sink;
+            this.maxInFlight = maxInFlight;
+            this.inFlight = new ArrayDeque<>(maxInFlight);
+            this.current = new Batch<>(size);
+        }
+
+        private void accept(final T element) {
+            this.current.elements.add(element);
+
+            if (this.current.elements.size() == this.size) {
+                this.submit();
+            }
+        }
+
+        private void submit() {
+            for (Batch<T> batch : this.inFlight) {
+                if (batch.completion.isCompletedExceptionally()) {
+                    // rethrows the failure, so the traversal stops before the sink sees another batch
+                    batch.completion.join();
+                }
+            }
+
+            if (this.inFlight.size() == this.maxInFlight) {
+                // waiting on the oldest batch keeps completions ordered and frees its buffer first
+                Batch<T> oldest = this.inFlight.peek();
+                oldest.completion.join();
+                this.inFlight.poll();
+                oldest.elements.clear();
+                this.idle.add(oldest);
+            }
+
+            this.current.completion = this.sink.apply(this.current.view).toCompletableFuture();
+            this.inFlight.add(this.current);
+
+            Batch<T> next = this.idle.poll();
+            this.current = next == null ? new Batch<>(this.size) : next;
+        }
+
+        private void flush() {
+            if (!this.current.elements.isEmpty()) {
+                this.submit();
+            }
+        }
+
+        /**
+         * Complete once every batch in flight completed, failing with the earliest failed batch
+         * or else with the failure that stopped the traversal, if any.
+         */
+        private CompletableFuture<Void> settle(final @Nullable RuntimeException failure) {
+            List<CompletableFuture<?>> completions = new ArrayList<>(this.inFlight.size());
+
+            for (Batch<T> batch : this.inFlight) {
+                completions.add(batch.completion);
+            }
+
+            return CompletableFuture.allOf(completions.toArray(CompletableFuture[]::new)).handle(($, settled) -> {
+                // every batch completed, so joining in submission order only rethrows the earliest failure
+                for (CompletableFuture<?> completion : completions) {
+                    completion.join();
+                }
+
+                if (failure != null) {
+                    throw failure instanceof CompletionException ? failure : new CompletionException(failure);
+                }
+
+                return null;
+            });
+        }
+
+    }
+
+    private static final class Batch<T> {
+
+        private final List<T> elements;
+        private final List<T> view;
+        private CompletableFuture<?> completion = CompletableFuture.completedFuture(null);
+
+        private Batch(final int size) {
+            this.elements = new ArrayList<>(size);
+            this.view = Collections.unmodifiableList(this.elements);
+        }
+
+    }
+
+}
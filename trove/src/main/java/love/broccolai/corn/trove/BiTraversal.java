@@ -0,0 +1,23 @@
+package love.broccolai.corn.trove;
+
+import java.util.function.BiConsumer;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Push based iteration of key value pairs that never materializes entry objects.
+ *
+ * @param <K> the type of keys pushed
+ * @param <V> the type of values pushed
+ */
+@NullMarked
+@FunctionalInterface
+interface BiTraversal<K, V> {
+
+    /**
+     * Push every pair to the sink.
+     *
+     * @param sink Sink to push pairs to
+     */
+    void traverse(BiConsumer<? super K, ? super V> sink);
+
+}
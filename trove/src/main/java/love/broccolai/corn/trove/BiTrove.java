@@ -0,0 +1,90 @@
+package love.broccolai.corn.trove;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Lazy pipeline over key value pairs that passes keys and values separately instead of as entries.
+ *
+ * <p>Every terminal operation walks the source again, so it observes the source as it is at that
+ * moment.</p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+@NullMarked
+public interface BiTrove<K, V> {
+
+    /**
+     * Keep only pairs matching a predicate.
+     *
+     * @param predicate Predicate to test pairs with
+     * @return BiTrove of matching pairs
+     */
+    BiTrove<K, V> filter(BiPredicate<? super K, ? super V> predicate);
+
+    /**
+     * Map every value, keeping its key.
+     *
+     * @param mapper Function to apply to values
+     * @param <R>    the type of mapped values
+     * @return BiTrove of mapped pairs
+     */
+    <R> BiTrove<K, R> mapValues(Function<? super V, ? extends R> mapper);
+
+    /**
+     * Pass every pair to a consumer in order.
+     *
+     * @param consumer Consumer to accept pairs
+     */
+    void forEach(BiConsumer<? super K, ? super V> consumer);
+
+    /**
+     * Combine every pair into a single element of a regular trove.
+     *
+     * @param combiner Function combining a key and value
+     * @param <R>      the type of combined elements
+     * @return Trove of combined elements
+     */
+    <R> Trove<R> toTrove(BiFunction<? super K, ? super V, ? extends R> combiner);
+
+    /**
+     * Collect the keys into a regular trove.
+     *
+     * @return Trove of keys
+     */
+    default Trove<K> keys() {
+        return this.toTrove((key, $) -> key);
+    }
+
+    /**
+     * Collect the values into a regular trove.
+     *
+     * @return Trove of values
+     */
+    default Trove<V> values() {
+        return this.toTrove(($, value) -> value);
+    }
+
+    /**
+     * Collect the pairs into entries of a regular trove, keeping null keys and values.
+     *
+     * @return Trove of entries
+     */
+    default Trove<Map.Entry<K, V>> entries() {
+        return this.toTrove(AbstractMap.SimpleImmutableEntry::new);
+    }
+
+    /**
+     * Collect the pairs into a new map, keeping their order.
+     *
+     * @return Map of the pairs
+     */
+    Map<K, V> toMap();
+
+}
@@ -0,0 +1,211 @@
+package love.broccolai.corn.trove;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Bloom filter that keeps all bits of a key within one 512 bit block, so every lookup touches a
+ * single cache line. Blocks fill unevenly, so the filter is sized larger than a classic one.
+ */
+@NullMarked
+final class BlockedBloomFilter implements TroveBloomFilter {
+
+    private static final int BLOCK_SHIFT = 3;
+    private static final int BLOCK_BITS = Long.SIZE << BLOCK_SHIFT;
+    private static final int MAX_BLOCKS = (Integer.MAX_VALUE - 8) >> BLOCK_SHIFT;
+    private static final int MAX_HASHES = 16;
+
+    // every probe takes the top bits of the next step of a multiplicative sequence seeded by the
+    // hash, forced odd so a zero hash still walks through distinct bits
+    private static final long PROBE_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int PROBE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(BLOCK_BITS);
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashes;
+
+    BlockedBloomFilter(final Shape shape) {
+        this(new long[shape.blocks() << BLOCK_SHIFT], shape.hashes());
+    }
+
+    private BlockedBloomFilter(final long[] words, final int hashes) {
+        this.words = words;
+        this.blocks = words.length >> BLOCK_SHIFT;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Compute the size of a filter holding an expected amount of keys at a false positive rate.
+     *
+     * @param expectedInsertions Amount of keys the filter is sized for
+     * @param fpp                False positive probability once that many keys were added
+     * @return Shape of the filter
+     */
+    static Shape shape(final long expectedInsertions, final double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive, got " + expectedInsertions);
+        }
+
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1 exclusive, got " + fpp);
+        }
+
+        double bits = Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long blocks = (long) Math.ceil(bits / BLOCK_BITS);
+
+        // blocks fill unevenly, so grow past the classic size until the blocked layout meets fpp
+        while (blocks <= MAX_BLOCKS) {
+            int hashes = 1;
+            double rate = falsePositiveRate(expectedInsertions, blocks, hashes);
+
+            for (int candidate = 2; candidate <= MAX_HASHES; candidate++) {
+                double candidateRate = falsePositiveRate(expectedInsertions, blocks, candidate);
+
+                if (candidateRate < rate) {
+                    hashes = candidate;
+                    rate = candidateRate;
+                }
+            }
+
+            if (rate <= fpp) {
+                return new Shape((int) blocks, hashes);
+            }
+
+            blocks += Math.max(1, blocks >> 4);
+        }
+
+        throw new IllegalArgumentException("bloom filter must hold at most " + (long) MAX_BLOCKS * BLOCK_BITS + " bits, got " + blocks * BLOCK_BITS);
+    }
+
+    static BlockedBloomFilter read(final DataInput input) throws IOException {
+        int hashes = input.readInt();
+        int blocks = input.readInt();
+
+        if (hashes < 1 || hashes > MAX_HASHES || blocks < 1 || blocks > MAX_BLOCKS) {
+            throw new IOException("malformed bloom filter with " + blocks + " blocks and " + hashes + " hashes");
+        }
+
+        long[] words = new long[blocks << BLOCK_SHIFT];
+
+        for (int index = 0; index < words.length; index++) {
+            words[index] = input.readLong();
+        }
+
+        return new BlockedBloomFilter(words, hashes);
+    }
+
+    @Override
+    public boolean put(final long key) {
+        long hash = mix(key);
+        int block = this.block(hash);
+        long probe = hash | 1;
+        boolean changed = false;
+
+        for (int index = 0; index < this.hashes; index++) {
+            probe *= PROBE_MULTIPLIER;
+
+            int bit = (int) (probe >>> PROBE_SHIFT);
+            int word = block + (bit >>> 6);
+            long mask = 1L << bit;
+
+            if ((this.words[word] & mask) == 0) {
+                this.words[word] |= mask;
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    @Override
+    public boolean mightContain(final long key) {
+        long hash = mix(key);
+        int block = this.block(hash);
+        long probe = hash | 1;
+
+        for (int index = 0; index < this.hashes; index++) {
+            probe *= PROBE_MULTIPLIER;
+
+            int bit = (int) (probe >>> PROBE_SHIFT);
+
+            if ((this.words[block + (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public BlockedBloomFilter merge(final TroveBloomFilter other) {
+        if (!(other instanceof BlockedBloomFilter blocked) || blocked.blocks != this.blocks || blocked.hashes != this.hashes) {
+            throw new IllegalArgumentException("filters must have the same size and hash count to be merged");
+        }
+
+        for (int index = 0; index < this.words.length; index++) {
+            this.words[index] |= blocked.words[index];
+        }
+
+        return this;
+    }
+
+    @Override
+    public void write(final DataOutput output) throws IOException {
+        output.writeInt(this.hashes);
+        output.writeInt(this.blocks);
+
+        for (long word : this.words) {
+            output.writeLong(word);
+        }
+    }
+
+    private int block(final long hash) {
+        // maps the upper half of the hash onto the blocks without a division
+        return (int) (((hash >>> 32) * this.blocks) >>> 32) << BLOCK_SHIFT;
+    }
+
+    private static double falsePositiveRate(final long keys, final long blocks, final int hashes) {
+        // keys per block are poisson distributed, weighted outwards from the most likely load
+        // since the weights underflow when computed from zero
+        double load = (double) keys / blocks;
+        int mode = (int) load;
+        double total = 0;
+        double rate = 0;
+        double weight = 1;
+
+        for (int count = mode; weight > 1e-12; count++) {
+            total += weight;
+            rate += weight * blockRate(count, hashes);
+            weight *= load / (count + 1);
+        }
+
+        weight = 1;
+
+        for (int count = mode; count > 0 && weight > 1e-12; count--) {
+            weight *= count / load;
+            total += weight;
+            rate += weight * blockRate(count - 1, hashes);
+        }
+
+        return rate / total;
+    }
+
+    private static double blockRate(final int keys, final int hashes) {
+        double unset = Math.pow(1 - 1.0 / BLOCK_BITS, (double) hashes * keys);
+
+        return Math.pow(1 - unset, hashes);
+    }
+
+    private static long mix(final long key) {
+        long hash = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return hash ^ (hash >>> 33);
+    }
+
+    record Shape(int blocks, int hashes) {
+    }
+
+}
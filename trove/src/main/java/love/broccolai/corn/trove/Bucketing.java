@@ -0,0 +1,70 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Groups elements into a fixed amount of buckets addressed by index, without hashing keys.
+ */
+@NullMarked
+final class Bucketing {
+
+    private Bucketing() {
+    }
+
+    /**
+     * Create a collector placing every element in the bucket at its index.
+     *
+     * <p>Buckets are created on first use, so unused buckets stay null. Partial results from
+     * parallel chunks are concatenated bucket by bucket in encounter order.</p>
+     *
+     * @param count Amount of buckets
+     * @param index Function computing the bucket of an element
+     * @param <T>   the type of elements
+     * @return Collector into buckets
+     */
+    static <T> Collector<T, @Nullable List<T>[], @Nullable List<T>[]> collector(
+        final int count,
+        final ToIntFunction<? super T> index
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("bucket count must not be negative, got " + count);
+        }
+
+        return Collector.of(
+            () -> create(count),
+            (buckets, element) -> {
+                int bucket = index.applyAsInt(element);
+                List<T> values = buckets[bucket];
+
+                if (values == null) {
+                    values = new ArrayList<>();
+                    buckets[bucket] = values;
+                }
+
+                values.add(element);
+            },
+            (left, right) -> {
+                for (int bucket = 0; bucket < count; bucket++) {
+                    if (left[bucket] == null) {
+                        left[bucket] = right[bucket];
+                    } else if (right[bucket] != null) {
+                        left[bucket].addAll(right[bucket]);
+                    }
+                }
+
+                return left;
+            }
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @Nullable List<T>[] create(final int count) {
+        return (List<T>[]) new List<?>[count];
+    }
+
+}
@@ -0,0 +1,121 @@
+package love.broccolai.corn.trove;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Progress of a search split across chunks, shared so chunks stop once their result can no longer matter.
+ *
+ * <p>Chunks are identified by keys that increase in encounter order. A chunk is abandoned when
+ * a chunk that takes precedence over it has already found a match.</p>
+ */
+@NullMarked
+final class ChunkSearch {
+
+    // reading the shared bound for every element would contend on its cache line
+    private static final int CHECK_INTERVAL = 1 << 8;
+
+    private final Mode mode;
+    private final AtomicLong found;
+
+    private ChunkSearch(final Mode mode) {
+        this.mode = mode;
+        this.found = new AtomicLong(mode == Mode.LAST ? Long.MIN_VALUE : Long.MAX_VALUE);
+    }
+
+    /**
+     * Search for the match in the lowest chunk, abandoning chunks after a match.
+     *
+     * @return Search
+     */
+    static ChunkSearch first() {
+        return new ChunkSearch(Mode.FIRST);
+    }
+
+    /**
+     * Search for the match in the highest chunk scanning each from its end, abandoning chunks before a match.
+     *
+     * @return Search
+     */
+    static ChunkSearch last() {
+        return new ChunkSearch(Mode.LAST);
+    }
+
+    /**
+     * Search for any match, abandoning every chunk once one is found.
+     *
+     * @return Search
+     */
+    static ChunkSearch any() {
+        return new ChunkSearch(Mode.ANY);
+    }
+
+    /**
+     * Scan one chunk, stopping early when it is abandoned.
+     *
+     * @param chunk     Key of the chunk
+     * @param size      Amount of elements in the chunk
+     * @param elements  Function reading the element at an index of the chunk
+     * @param predicate Predicate to test elements with
+     * @param <T>       the type of elements searched
+     * @return Match within the chunk, or empty if none was found or the chunk was abandoned
+     */
+    <T> Optional<T> scan(final long chunk, final long size, final LongFunction<T> elements, final Predicate<T> predicate) {
+        for (long step = 0; step < size; step++) {
+            if (step % CHECK_INTERVAL == 0 && this.abandoned(chunk)) {
+                return Optional.empty();
+            }
+
+            T element = elements.apply(this.mode == Mode.LAST ? size - 1 - step : step);
+
+            if (predicate.test(element)) {
+                this.found.accumulateAndGet(chunk, this.mode == Mode.LAST ? Math::max : Math::min);
+                return Optional.of(element);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Pick the result from the per chunk results, given in encounter order.
+     *
+     * @param partials Results of every chunk
+     * @param <T>      the type of elements searched
+     * @return Result of the search
+     */
+    <T> Optional<T> select(final List<Optional<T>> partials) {
+        int size = partials.size();
+
+        for (int index = 0; index < size; index++) {
+            Optional<T> partial = partials.get(this.mode == Mode.LAST ? size - 1 - index : index);
+
+            if (partial.isPresent()) {
+                return partial;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean abandoned(final long chunk) {
+        long bound = this.found.get();
+
+        return switch (this.mode) {
+            case FIRST -> bound < chunk;
+            case LAST -> bound > chunk;
+            case ANY -> bound != Long.MAX_VALUE;
+        };
+    }
+
+    private enum Mode {
+        FIRST,
+        LAST,
+        ANY
+    }
+
+}
@@ -0,0 +1,19 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A trove holding resources, such as temporary files, that must be released once done.
+ *
+ * @param <T> the type of elements
+ */
+@NullMarked
+public interface CloseableTrove<T> extends Trove<T>, AutoCloseable {
+
+    /**
+     * Release the resources held by this trove, after which it must no longer be used.
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,117 @@
+package love.broccolai.corn.trove;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Template whose bytecode is defined again as a hidden class for every compiled pipeline, so
+ * each pipeline runs its own copy of these loops with call sites profiled for it alone.
+ *
+ * <p>The template itself is never initialized. Every copy reads the stages of its pipeline from
+ * its class data into a constant, which lets the JIT inline them into the loops. Instances of a
+ * copy push elements of a traversal through its stages.</p>
+ */
+@NullMarked
+final class CompiledPipeline implements TroveGatherer.Downstream<Object> {
+
+    // (Object)Object, returning PipelineCompiler.SKIP for elements a stage filtered out
+    private static final MethodHandle STAGES = stages();
+
+    private final TroveGatherer.Downstream<Object> downstream;
+
+    private CompiledPipeline(final TroveGatherer.Downstream<Object> downstream) {
+        this.downstream = downstream;
+    }
+
+    static void forEach(final List<?> source, final Consumer<Object> consumer) throws Throwable {
+        for (Object element : source) {
+            Object value = (Object) STAGES.invokeExact(element);
+
+            if (value != PipelineCompiler.SKIP) {
+                consumer.accept(value);
+            }
+        }
+    }
+
+    static Object reduce(final List<?> source, final Object identity, final BinaryOperator<Object> accumulator) throws Throwable {
+        Object result = identity;
+
+        for (Object element : source) {
+            Object value = (Object) STAGES.invokeExact(element);
+
+            if (value != PipelineCompiler.SKIP) {
+                result = accumulator.apply(result, value);
+            }
+        }
+
+        return result;
+    }
+
+    static Object first(final List<?> source, final Predicate<Object> predicate) throws Throwable {
+        for (Object element : source) {
+            Object value = (Object) STAGES.invokeExact(element);
+
+            if (value != PipelineCompiler.SKIP && predicate.test(value)) {
+                return value;
+            }
+        }
+
+        return PipelineCompiler.SKIP;
+    }
+
+    static void collect(final List<?> source, final Object container, final BiConsumer<Object, Object> accumulator) throws Throwable {
+        for (Object element : source) {
+            Object value = (Object) STAGES.invokeExact(element);
+
+            if (value != PipelineCompiler.SKIP) {
+                accumulator.accept(container, value);
+            }
+        }
+    }
+
+    static boolean traverse(final List<?> source, final TroveGatherer.Downstream<Object> sink) throws Throwable {
+        for (Object element : source) {
+            Object value = (Object) STAGES.invokeExact(element);
+
+            if (value != PipelineCompiler.SKIP && !sink.push(value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static TroveGatherer.Downstream<Object> sink(final TroveGatherer.Downstream<Object> downstream) {
+        // a lambda here could not link back to this copy, which has no name to resolve it by
+        return new CompiledPipeline(downstream);
+    }
+
+    @Override
+    public boolean push(final Object element) {
+        Object value;
+
+        try {
+            value = (Object) STAGES.invokeExact(element);
+        } catch (final Throwable throwable) {
+            throw PipelineCompiler.rethrow(throwable);
+        }
+
+        return value == PipelineCompiler.SKIP || this.downstream.push(value);
+    }
+
+    private static MethodHandle stages() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (final IllegalAccessException exception) {
+            throw new IllegalStateException("compiled pipeline has no stages", exception);
+        }
+    }
+
+}
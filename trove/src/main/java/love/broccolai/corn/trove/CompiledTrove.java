@@ -0,0 +1,327 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Trove collecting map and filter stages into a pipeline that is compiled once it first runs.
+ *
+ * <p>Elements come either from a traversal or from pieces of list, which run as tasks on the
+ * common fork join pool when the source was parallel. Any other operation runs on a trove of the
+ * same kind as the source, fed by the compiled stages.</p>
+ */
+@NullMarked
+final class CompiledTrove<T> extends ForwardingTrove<T> {
+
+    private final @Nullable Traversal<?> traversal;
+    private final List<? extends List<?>> pieces;
+    private final boolean parallel;
+    private final boolean segmented;
+    private final List<PipelineCompiler.Stage> stages;
+    private PipelineCompiler.@Nullable Kernel kernel;
+
+    private CompiledTrove(
+        final @Nullable Traversal<?> traversal,
+        final List<? extends List<?>> pieces,
+        final boolean parallel,
+        final boolean segmented,
+        final List<PipelineCompiler.Stage> stages
+    ) {
+        this.traversal = traversal;
+        this.pieces = pieces;
+        this.parallel = parallel;
+        this.segmented = segmented;
+        this.stages = stages;
+    }
+
+    /**
+     * Create a compiled trove over a list.
+     *
+     * @param source Elements in order
+     * @param <T>    Type of elements
+     * @return Compiled trove
+     */
+    static <T> CompiledTrove<T> of(final List<T> source) {
+        return new CompiledTrove<>(null, List.of(source), false, false, List.of());
+    }
+
+    /**
+     * Create a compiled trove taking over the stages a lazy trove recorded.
+     *
+     * @param origin Traversal the stages started from
+     * @param stages Stages applied since, in order
+     * @param <T>    Type of elements after the stages
+     * @return Compiled trove
+     */
+    static <T> CompiledTrove<T> lazy(final Traversal<?> origin, final List<PipelineCompiler.Stage> stages) {
+        return new CompiledTrove<>(origin, List.of(), false, false, stages);
+    }
+
+    /**
+     * Create a compiled trove over the chunks of a parallel trove, each run as a task of its own.
+     *
+     * @param chunks Chunks in encounter order
+     * @param <T>    Type of elements
+     * @return Compiled trove
+     */
+    static <T> CompiledTrove<T> parallel(final List<List<T>> chunks) {
+        return new CompiledTrove<>(null, chunks, true, false, List.of());
+    }
+
+    /**
+     * Create a compiled trove over the chunks of segmented storage, able to hold more than
+     * {@link Integer#MAX_VALUE} elements.
+     *
+     * @param chunks   Chunks in encounter order
+     * @param parallel Whether chunks are run as tasks on the common pool
+     * @param <T>      Type of elements
+     * @return Compiled trove
+     */
+    static <T> CompiledTrove<T> segmented(final List<List<T>> chunks, final boolean parallel) {
+        return new CompiledTrove<>(null, chunks, parallel, true, List.of());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Trove<T> delegate() {
+        PipelineCompiler.Kernel kernel = this.kernel();
+        Traversal<?> traversal = this.traversal;
+
+        if (traversal != null) {
+            return new LazyTrove<>(sink -> traversal.traverse(kernel.sink(sink)));
+        }
+
+        if (this.segmented) {
+            List<Segments<T>> partials = this.groups(group -> {
+                Segments<T> output = new Segments<>();
+
+                for (List<?> piece : group) {
+                    kernel.<T>traverse(piece, output::add);
+                }
+
+                return output;
+            });
+
+            Segments<T> output = partials.get(0);
+
+            // every partial is dropped once appended, so its whole chunks are adopted as they are
+            for (int index = 1; index < partials.size(); index++) {
+                output.addAll(partials.get(index));
+            }
+
+            return new SegmentedTrove<>(output, this.parallel);
+        }
+
+        if (this.parallel) {
+            List<List<T>> partials = this.groups(group -> {
+                List<T> output = new ArrayList<>();
+
+                for (List<?> piece : group) {
+                    kernel.<T>traverse(piece, output::add);
+                }
+
+                return output;
+            });
+
+            List<T> output = new ArrayList<>();
+
+            for (List<T> partial : partials) {
+                output.addAll(partial);
+            }
+
+            return new ParallelTrove<>(output);
+        }
+
+        return new LazyTrove<>(sink -> {
+            for (List<?> piece : this.pieces) {
+                if (!kernel.traverse(piece, sink)) {
+                    return false;
+                }
+            }
+
+            return true;
+        });
+    }
+
+    @Override
+    public <R> Trove<R> map(final Function<T, R> mapper) {
+        return this.then(PipelineCompiler.Stage.map(mapper));
+    }
+
+    @Override
+    public Trove<T> filter(final Predicate<T> predicate) {
+        return this.then(PipelineCompiler.Stage.filter(predicate));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        if (this.traversal != null) {
+            return super.reduce(identity, accumulator);
+        }
+
+        PipelineCompiler.Kernel kernel = this.kernel();
+        List<T> partials = this.groups(group -> {
+            Object result = identity;
+
+            for (List<?> piece : group) {
+                result = kernel.reduce(piece, result, accumulator);
+            }
+
+            return (T) result;
+        });
+
+        T result = partials.get(0);
+
+        for (int index = 1; index < partials.size(); index++) {
+            result = accumulator.apply(result, partials.get(index));
+        }
+
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> first(final Predicate<T> predicate) {
+        if (this.traversal != null) {
+            return super.first(predicate);
+        }
+
+        PipelineCompiler.Kernel kernel = this.kernel();
+        List<Object> partials = this.groups(group -> {
+            for (List<?> piece : group) {
+                Object result = kernel.first(piece, predicate);
+
+                if (result != PipelineCompiler.SKIP) {
+                    return result;
+                }
+            }
+
+            return PipelineCompiler.SKIP;
+        });
+
+        // groups are in encounter order, so the earliest group with a match holds the first one
+        for (Object partial : partials) {
+            if (partial != PipelineCompiler.SKIP) {
+                return Optional.of((T) partial);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<T> findAny(final Predicate<T> predicate) {
+        return this.first(predicate);
+    }
+
+    @Override
+    public void forEach(final Consumer<T> consumer) {
+        if (this.traversal != null) {
+            super.forEach(consumer);
+            return;
+        }
+
+        PipelineCompiler.Kernel kernel = this.kernel();
+
+        this.groups(group -> {
+            for (List<?> piece : group) {
+                kernel.forEach(piece, consumer);
+            }
+
+            return true;
+        });
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        if (this.traversal != null) {
+            return super.collect(collector);
+        }
+
+        PipelineCompiler.Kernel kernel = this.kernel();
+        List<A> partials = this.groups(group -> {
+            A container = collector.supplier().get();
+
+            for (List<?> piece : group) {
+                kernel.collect(piece, container, collector.accumulator());
+            }
+
+            return container;
+        });
+
+        A result = partials.get(0);
+
+        for (int index = 1; index < partials.size(); index++) {
+            result = collector.combiner().apply(result, partials.get(index));
+        }
+
+        return collector.finisher().apply(result);
+    }
+
+    @Override
+    public Trove<T> compile() {
+        return this;
+    }
+
+    private <R> Trove<R> then(final PipelineCompiler.Stage stage) {
+        return new CompiledTrove<>(
+            this.traversal,
+            this.pieces,
+            this.parallel,
+            this.segmented,
+            PipelineCompiler.append(this.stages, stage)
+        );
+    }
+
+    private <R> List<R> groups(final Function<List<? extends List<?>>, R> task) {
+        int count = this.parallel ? Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, this.pieces.size()) : 1;
+
+        if (count <= 1) {
+            return Collections.singletonList(task.apply(this.pieces));
+        }
+
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+            List<? extends List<?>> group = this.pieces.subList(
+                (int) ((long) this.pieces.size() * index / count),
+                (int) ((long) this.pieces.size() * (index + 1) / count)
+            );
+
+            tasks.add(ForkJoinTask.adapt(() -> task.apply(group)));
+        }
+
+        List<R> results = new ArrayList<>(count);
+
+        for (ForkJoinTask<R> forked : ForkJoinTask.invokeAll(tasks)) {
+            results.add(forked.join());
+        }
+
+        return results;
+    }
+
+    private PipelineCompiler.Kernel kernel() {
+        PipelineCompiler.Kernel kernel = this.kernel;
+
+        if (kernel == null) {
+            // racing threads may both compile the pipeline, which only costs a second hidden class
+            kernel = PipelineCompiler.compile(this.stages);
+            this.kernel = kernel;
+        }
+
+        return kernel;
+    }
+
+}
@@ -0,0 +1,114 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Chunk buffers shared by concurrent builders, one per appending thread.
+ *
+ * <p>Appending only touches the calling thread's buffer. A filled chunk is handed off through a
+ * lock free queue and the thread starts a fresh one, so appends never wait on each other.</p>
+ */
+@NullMarked
+final class ConcurrentChunks {
+
+    private final boolean sequenced;
+    private final ThreadLocal<Buffer> local = ThreadLocal.withInitial(this::register);
+    private final Queue<Chunk> filled = new ConcurrentLinkedQueue<>();
+    private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+
+    ConcurrentChunks(final boolean sequenced) {
+        this.sequenced = sequenced;
+    }
+
+    void add(final long sequence, final Object element) {
+        Buffer buffer = this.local.get();
+        buffer.elements[buffer.count] = element;
+
+        if (this.sequenced) {
+            buffer.sequences[buffer.count] = sequence;
+        }
+
+        if (++buffer.count == Segments.CHUNK_SIZE) {
+            this.filled.offer(new Chunk(buffer.elements, buffer.sequences, buffer.count));
+            buffer.reset(this.sequenced);
+        }
+    }
+
+    long size() {
+        long size = (long) this.filled.size() * Segments.CHUNK_SIZE;
+
+        for (Buffer buffer : this.buffers) {
+            size += buffer.count;
+        }
+
+        return size;
+    }
+
+    /**
+     * Collect every chunk, filled chunks first and partially filled ones after, and let go of the thread buffers.
+     *
+     * <p>Each appending thread keeps its buffer in a thread local until the thread ends, so the
+     * buffers are emptied here to keep them from holding chunks once these are handed out.</p>
+     *
+     * @return Chunks appended so far
+     */
+    List<Chunk> drain() {
+        List<Chunk> chunks = new ArrayList<>(this.filled);
+
+        for (Buffer buffer : this.buffers) {
+            if (buffer.count > 0) {
+                chunks.add(new Chunk(buffer.elements, buffer.sequences, buffer.count));
+            }
+
+            buffer.release();
+        }
+
+        this.filled.clear();
+        this.buffers.clear();
+        this.local.remove();
+
+        return chunks;
+    }
+
+    private Buffer register() {
+        Buffer buffer = new Buffer(this.sequenced);
+        this.buffers.offer(buffer);
+
+        return buffer;
+    }
+
+    record Chunk(Object[] elements, long[] sequences, int count) {
+    }
+
+    private static final class Buffer {
+
+        private static final Object[] EMPTY_ELEMENTS = new Object[0];
+        private static final long[] EMPTY_SEQUENCES = new long[0];
+
+        private Object[] elements;
+        private long[] sequences;
+        private int count;
+
+        private Buffer(final boolean sequenced) {
+            this.reset(sequenced);
+        }
+
+        private void reset(final boolean sequenced) {
+            this.elements = new Object[Segments.CHUNK_SIZE];
+            this.sequences = sequenced ? new long[Segments.CHUNK_SIZE] : new long[0];
+            this.count = 0;
+        }
+
+        private void release() {
+            this.elements = EMPTY_ELEMENTS;
+            this.sequences = EMPTY_SEQUENCES;
+            this.count = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,199 @@
+package love.broccolai.corn.trove;
+
+import java.util.Arrays;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Concurrent builder that sorts each appended chunk by sequence number and merges the chunks straight into segments.
+ *
+ * <p>Building needs one extra chunk of scratch space beside the chunks themselves, whatever the
+ * amount of elements.</p>
+ */
+@NullMarked
+final class ConcurrentSequencedTroveBuilder<T> implements SequencedTroveBuilder<T> {
+
+    private volatile ConcurrentChunks chunks = new ConcurrentChunks(true);
+
+    @Override
+    public SequencedTroveBuilder<T> add(final long sequence, final T element) {
+        this.chunks.add(sequence, element);
+        return this;
+    }
+
+    @Override
+    public long longSize() {
+        return this.chunks.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Trove<T> build() {
+        ConcurrentChunks built = this.chunks;
+        this.chunks = new ConcurrentChunks(true);
+
+        List<ConcurrentChunks.Chunk> chunks = built.drain();
+        long[] sequenceBuffer = new long[Segments.CHUNK_SIZE];
+        Object[] elementBuffer = new Object[Segments.CHUNK_SIZE];
+
+        // each thread appends in its own order, which is usually ascending already, so sorting a chunk is often a single pass
+        for (ConcurrentChunks.Chunk chunk : chunks) {
+            sort(chunk.sequences(), chunk.elements(), chunk.count(), sequenceBuffer, elementBuffer);
+        }
+
+        Segments<T> segments = new Segments<>();
+        ChunkHeap heap = new ChunkHeap(chunks);
+
+        while (!heap.isEmpty()) {
+            segments.add((T) heap.poll());
+        }
+
+        return new SegmentedTrove<>(segments, false);
+    }
+
+    /**
+     * Sort the first elements of a chunk by their sequence numbers with a bottom up merge sort, moving both arrays together.
+     */
+    private static void sort(
+        final long[] sequences,
+        final Object[] elements,
+        final int size,
+        final long[] sequenceBuffer,
+        final Object[] elementBuffer
+    ) {
+        if (ascending(sequences, size)) {
+            return;
+        }
+
+        long[] sequencesFrom = sequences;
+        Object[] elementsFrom = elements;
+        long[] sequencesTo = sequenceBuffer;
+        Object[] elementsTo = elementBuffer;
+
+        for (int width = 1; width < size; width *= 2) {
+            for (int start = 0; start < size; start += 2 * width) {
+                int middle = Math.min(start + width, size);
+                int end = Math.min(start + 2 * width, size);
+                int left = start;
+                int right = middle;
+
+                for (int target = start; target < end; target++) {
+                    if (left < middle && (right >= end || sequencesFrom[left] <= sequencesFrom[right])) {
+                        sequencesTo[target] = sequencesFrom[left];
+                        elementsTo[target] = elementsFrom[left++];
+                    } else {
+                        sequencesTo[target] = sequencesFrom[right];
+                        elementsTo[target] = elementsFrom[right++];
+                    }
+                }
+            }
+
+            long[] sequencesSwap = sequencesFrom;
+            sequencesFrom = sequencesTo;
+            sequencesTo = sequencesSwap;
+
+            Object[] elementsSwap = elementsFrom;
+            elementsFrom = elementsTo;
+            elementsTo = elementsSwap;
+        }
+
+        if (elementsFrom != elements) {
+            System.arraycopy(sequencesFrom, 0, sequences, 0, size);
+            System.arraycopy(elementsFrom, 0, elements, 0, size);
+        }
+
+        // the buffer outlives this chunk, so it must not keep its elements reachable
+        Arrays.fill(elementBuffer, 0, size, null);
+    }
+
+    private static boolean ascending(final long[] sequences, final int size) {
+        for (int index = 1; index < size; index++) {
+            if (sequences[index - 1] > sequences[index]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Binary min heap over sorted chunks, keyed by the sequence number each chunk is positioned at.
+     */
+    private static final class ChunkHeap {
+
+        private final List<ConcurrentChunks.Chunk> chunks;
+        private final int[] positions;
+        private final int[] heap;
+        private int size;
+
+        private ChunkHeap(final List<ConcurrentChunks.Chunk> chunks) {
+            this.chunks = chunks;
+            this.positions = new int[chunks.size()];
+            this.heap = new int[chunks.size()];
+
+            for (int chunk = 0; chunk < chunks.size(); chunk++) {
+                if (chunks.get(chunk).count() > 0) {
+                    this.heap[this.size++] = chunk;
+                }
+            }
+
+            for (int index = this.size / 2 - 1; index >= 0; index--) {
+                this.siftDown(index);
+            }
+        }
+
+        private boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        /**
+         * Take the element with the lowest sequence number and move its chunk along.
+         */
+        private Object poll() {
+            int top = this.heap[0];
+            ConcurrentChunks.Chunk chunk = this.chunks.get(top);
+            Object element = chunk.elements()[this.positions[top]++];
+
+            if (this.positions[top] == chunk.count()) {
+                this.heap[0] = this.heap[--this.size];
+            }
+
+            this.siftDown(0);
+
+            return element;
+        }
+
+        private void siftDown(final int from) {
+            int index = from;
+
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+
+                if (left < this.size && this.before(this.heap[left], this.heap[smallest])) {
+                    smallest = left;
+                }
+
+                if (right < this.size && this.before(this.heap[right], this.heap[smallest])) {
+                    smallest = right;
+                }
+
+                if (smallest == index) {
+                    return;
+                }
+
+                int swap = this.heap[index];
+                this.heap[index] = this.heap[smallest];
+                this.heap[smallest] = swap;
+                index = smallest;
+            }
+        }
+
+        private boolean before(final int first, final int second) {
+            return this.chunks.get(first).sequences()[this.positions[first]] < this.chunks.get(second).sequences()[this.positions[second]];
+        }
+
+    }
+
+}
@@ -0,0 +1,44 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class ConcurrentTroveBuilder<T> implements TroveBuilder<T> {
+
+    private volatile ConcurrentChunks chunks = new ConcurrentChunks(false);
+
+    @Override
+    public TroveBuilder<T> add(final T element) {
+        this.chunks.add(0, element);
+        return this;
+    }
+
+    @Override
+    public long longSize() {
+        return this.chunks.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Trove<T> build() {
+        ConcurrentChunks built = this.chunks;
+        this.chunks = new ConcurrentChunks(false);
+
+        Segments<T> segments = new Segments<>();
+
+        // filled chunks come first, so every one of them lands on a chunk boundary and is adopted as is
+        for (ConcurrentChunks.Chunk chunk : built.drain()) {
+            if (chunk.count() == Segments.CHUNK_SIZE && segments.aligned()) {
+                segments.adopt(chunk.elements());
+                continue;
+            }
+
+            for (int index = 0; index < chunk.count(); index++) {
+                segments.add((T) chunk.elements()[index]);
+            }
+        }
+
+        return new SegmentedTrove<>(segments, false);
+    }
+
+}
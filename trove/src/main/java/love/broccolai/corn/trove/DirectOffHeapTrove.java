@@ -0,0 +1,136 @@
+package love.broccolai.corn.trove;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Off heap trove backed by a single direct buffer.
+ *
+ * <p>Direct buffers cannot be freed explicitly without internal APIs, so closing drops the only
+ * reference and the memory is returned once the buffer itself is collected. Lazy views fetch the
+ * buffer from the trove on every read instead of holding on to it, so they neither keep it
+ * reachable nor read it after closing.</p>
+ */
+@NullMarked
+final class DirectOffHeapTrove<T> extends ForwardingTrove<T> implements OffHeapTrove<T> {
+
+    private final TroveLayout<T> layout;
+    private final int width;
+    private volatile @Nullable ByteBuffer records;
+    private int size;
+
+    DirectOffHeapTrove(final TroveLayout<T> layout, final int capacity) {
+        long bytes = (long) capacity * layout.width();
+
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("off heap troves hold at most 2GiB of records, got " + bytes + " bytes");
+        }
+
+        this.layout = layout;
+        this.width = layout.width();
+        this.records = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    void append(final T element) {
+        this.layout.write(this.records(), this.size * this.width, element);
+        this.size++;
+    }
+
+    @Override
+    Trove<T> delegate() {
+        this.records();
+
+        return new ListBackedTrove<>(new GeneratedList<>(this.size, index -> this.layout.read(this.records(), index * this.width)));
+    }
+
+    @Override
+    public int size() {
+        this.records();
+        return this.size;
+    }
+
+    @Override
+    public long longSize() {
+        return this.size();
+    }
+
+    @Override
+    public OffHeapTrove<T> filterRecords(final RecordPredicate predicate) {
+        ByteBuffer records = this.records();
+        long[] matches = new long[(this.size + 63) >>> 6];
+        int count = 0;
+
+        for (int index = 0; index < this.size; index++) {
+            if (predicate.test(records, index * this.width)) {
+                matches[index >>> 6] |= 1L << index;
+                count++;
+            }
+        }
+
+        DirectOffHeapTrove<T> result = new DirectOffHeapTrove<>(this.layout, count);
+        ByteBuffer output = result.records();
+
+        for (int index = 0; index < this.size; index++) {
+            if ((matches[index >>> 6] & 1L << index) != 0) {
+                output.put(result.size * this.width, records, index * this.width, this.width);
+                result.size++;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public IntTrove mapRecordsToInt(final RecordToIntFunction mapper) {
+        ByteBuffer records = this.records();
+        int[] values = new int[this.size];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = mapper.applyAsInt(records, index * this.width);
+        }
+
+        return new ArrayIntTrove(values);
+    }
+
+    @Override
+    public DoubleTrove mapRecordsToDouble(final RecordToDoubleFunction mapper) {
+        ByteBuffer records = this.records();
+        double[] values = new double[this.size];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = mapper.applyAsDouble(records, index * this.width);
+        }
+
+        return new ArrayDoubleTrove(values);
+    }
+
+    @Override
+    public long reduceRecords(final long identity, final RecordReducer reducer) {
+        ByteBuffer records = this.records();
+        long result = identity;
+
+        for (int index = 0; index < this.size; index++) {
+            result = reducer.apply(result, records, index * this.width);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void close() {
+        this.records = null;
+    }
+
+    private ByteBuffer records() {
+        ByteBuffer records = this.records;
+
+        if (records == null) {
+            throw new IllegalStateException("off heap trove is closed");
+        }
+
+        return records;
+    }
+
+}
@@ -0,0 +1,107 @@
+package love.broccolai.corn.trove;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+public interface DoubleTrove {
+
+    /**
+     * Create a DoubleTrove from a copy of the given values.
+     *
+     * @param values Values to construct with
+     * @return Trove containing the values
+     */
+    static DoubleTrove of(final double... values) {
+        return new ArrayDoubleTrove(Arrays.copyOf(values, values.length));
+    }
+
+    /**
+     * Get the amount of values in this trove.
+     *
+     * @return Amount of values
+     */
+    int size();
+
+    /**
+     * Sum every value.
+     *
+     * <p>Values are summed in several interleaved lanes, so the result may differ from a
+     * strictly sequential sum by floating point rounding.</p>
+     *
+     * @return Sum of all values
+     */
+    double sum();
+
+    /**
+     * Find the smallest value.
+     *
+     * @return Smallest value, or empty if the trove is empty
+     */
+    OptionalDouble min();
+
+    /**
+     * Find the largest value.
+     *
+     * @return Largest value, or empty if the trove is empty
+     */
+    OptionalDouble max();
+
+    /**
+     * Keep only values within an inclusive range.
+     *
+     * @param min Lowest value to keep
+     * @param max Highest value to keep
+     * @return Trove of values within the range
+     */
+    DoubleTrove filterRange(double min, double max);
+
+    /**
+     * Add a constant to every value.
+     *
+     * @param value Value to add
+     * @return Trove of shifted values
+     */
+    DoubleTrove add(double value);
+
+    /**
+     * Multiply every value by a constant.
+     *
+     * @param value Value to multiply by
+     * @return Trove of scaled values
+     */
+    DoubleTrove multiply(double value);
+
+    /**
+     * Map every value with an arbitrary operator.
+     *
+     * @param mapper Operator to apply
+     * @return Trove of mapped values
+     */
+    DoubleTrove map(DoubleUnaryOperator mapper);
+
+    /**
+     * Pass every value to a consumer in order.
+     *
+     * @param consumer Consumer to accept values
+     */
+    void forEach(DoubleConsumer consumer);
+
+    /**
+     * Box every value into a regular trove.
+     *
+     * @return Boxed trove
+     */
+    Trove<Double> boxed();
+
+    /**
+     * Copy the values into a new array.
+     *
+     * @return Array of values
+     */
+    double[] toArray();
+
+}
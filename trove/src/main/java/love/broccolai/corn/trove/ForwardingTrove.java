@@ -0,0 +1,161 @@
+package love.broccolai.corn.trove;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Trove forwarding every operation to another trove, for wrappers that only add behaviour.
+ */
+@NullMarked
+abstract class ForwardingTrove<T> implements Trove<T> {
+
+    abstract Trove<T> delegate();
+
+    @Override
+    public <R> Trove<R> map(final Function<T, R> mapper) {
+        return this.delegate().map(mapper);
+    }
+
+    @Override
+    public <R> Trove<R> mapIfPresent(final Function<T, Optional<R>> mapper) {
+        return this.delegate().mapIfPresent(mapper);
+    }
+
+    @Override
+    public <R> Trove<R> flatMap(final Function<T, Collection<R>> mapper) {
+        return this.delegate().flatMap(mapper);
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        return this.delegate().reduce(identity, accumulator);
+    }
+
+    @Override
+    public <R> Map<R, Collection<T>> group(final Function<T, R> grouper) {
+        return this.delegate().group(grouper);
+    }
+
+    @Override
+    public Trove<T> filter(final Predicate<T> predicate) {
+        return this.delegate().filter(predicate);
+    }
+
+    @Override
+    public <I> Trove<I> filterIsInstance(final Class<I> type) {
+        return this.delegate().filterIsInstance(type);
+    }
+
+    @Override
+    public <R> Trove<R> mapIndexed(final IndexedFunction<? super T, ? extends R> mapper) {
+        return this.delegate().mapIndexed(mapper);
+    }
+
+    @Override
+    public Trove<T> filterIndexed(final IndexedPredicate<? super T> predicate) {
+        return this.delegate().filterIndexed(predicate);
+    }
+
+    @Override
+    public SortedTrove<T> sorted(final Comparator<? super T> comparator) {
+        return this.delegate().sorted(comparator);
+    }
+
+    @Override
+    public Trove<T> sortedByInt(final ToIntFunction<? super T> key) {
+        return this.delegate().sortedByInt(key);
+    }
+
+    @Override
+    public Trove<T> sortedByLong(final ToLongFunction<? super T> key) {
+        return this.delegate().sortedByLong(key);
+    }
+
+    @Override
+    public T average(
+        final T identity,
+        final BinaryOperator<T> accumulator,
+        final BiFunction<T, Integer, T> divider
+    ) {
+        return this.delegate().average(identity, accumulator, divider);
+    }
+
+    @Override
+    public Optional<T> first(final Predicate<T> predicate) {
+        return this.delegate().first(predicate);
+    }
+
+    @Override
+    public Optional<T> last(final Predicate<T> predicate) {
+        return this.delegate().last(predicate);
+    }
+
+    @Override
+    public Optional<T> findAny(final Predicate<T> predicate) {
+        return this.delegate().findAny(predicate);
+    }
+
+    @Override
+    public void forEach(final Consumer<T> consumer) {
+        this.delegate().forEach(consumer);
+    }
+
+    @Override
+    public void forEachIndexed(final IndexedConsumer<? super T> consumer) {
+        this.delegate().forEachIndexed(consumer);
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        return this.delegate().collect(collector);
+    }
+
+    @Override
+    public long longSize() {
+        return this.delegate().longSize();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return this.delegate().spliterator();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return this.delegate().stream();
+    }
+
+    @Override
+    public <A, R> Trove<R> gather(final TroveGatherer<? super T, A, R> gatherer) {
+        return this.delegate().gather(gatherer);
+    }
+
+    @Override
+    public Trove<T> lazy() {
+        return this.delegate().lazy();
+    }
+
+    @Override
+    public Trove<T> compile() {
+        return this.delegate().compile();
+    }
+
+    @Override
+    public Trove<T> parallel() {
+        return this.delegate().parallel();
+    }
+
+}
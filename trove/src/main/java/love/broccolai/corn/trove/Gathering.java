@@ -0,0 +1,68 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class Gathering {
+
+    private Gathering() {
+    }
+
+    /**
+     * Run a gatherer sequentially over a traversal, including its finisher.
+     *
+     * @return false if the sink rejected an element
+     */
+    static <T, A, R> boolean gather(
+        final TroveGatherer<? super T, A, R> gatherer,
+        final Traversal<T> upstream,
+        final TroveGatherer.Downstream<? super R> sink
+    ) {
+        A state = gatherer.initializer().get();
+        TrackingDownstream<R> downstream = new TrackingDownstream<>(sink);
+
+        integrate(gatherer, state, upstream, downstream);
+        gatherer.finisher().accept(state, downstream);
+
+        return !downstream.rejected;
+    }
+
+    /**
+     * Integrate every element of a traversal into the state, without finishing it.
+     *
+     * @return false if the integrator or downstream stopped early
+     */
+    static <T, A, R> boolean integrate(
+        final TroveGatherer<? super T, A, R> gatherer,
+        final A state,
+        final Traversal<T> upstream,
+        final TrackingDownstream<R> downstream
+    ) {
+        TroveGatherer.Integrator<A, ? super T, R> integrator = gatherer.integrator();
+
+        return upstream.traverse(entry -> integrator.integrate(state, entry, downstream) && !downstream.rejected);
+    }
+
+    static final class TrackingDownstream<R> implements TroveGatherer.Downstream<R> {
+
+        private final TroveGatherer.Downstream<? super R> sink;
+        private boolean rejected;
+
+        TrackingDownstream(final TroveGatherer.Downstream<? super R> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean push(final R element) {
+            if (this.rejected) {
+                return false;
+            }
+
+            this.rejected = !this.sink.push(element);
+
+            return !this.rejected;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package love.broccolai.corn.trove;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Read only list computing each element from its index whenever it is accessed.
+ */
+@NullMarked
+final class GeneratedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final int size;
+    private final IntFunction<? extends T> generator;
+
+    GeneratedList(final int size, final IntFunction<? extends T> generator) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative, got " + size);
+        }
+
+        this.size = size;
+        this.generator = generator;
+    }
+
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + this.size);
+        }
+
+        return this.generator.apply(index);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+}
@@ -0,0 +1,29 @@
+package love.broccolai.corn.trove;
+
+import java.util.Optional;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Mutable cell lambdas use to carry a value and a count out of a traversal.
+ */
+@NullMarked
+final class Holder<V> {
+
+    @Nullable V value;
+    int count;
+
+    Holder(final @Nullable V value) {
+        this.value = value;
+    }
+
+    void set(final V value) {
+        this.value = value;
+        this.count++;
+    }
+
+    Optional<V> toOptional() {
+        return this.count == 0 ? Optional.empty() : Optional.of(this.value);
+    }
+
+}
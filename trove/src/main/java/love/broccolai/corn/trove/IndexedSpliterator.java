@@ -0,0 +1,76 @@
+package love.broccolai.corn.trove;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Spliterator over a random access list that splits its index range exactly in half.
+ */
+@NullMarked
+final class IndexedSpliterator<T> implements Spliterator<T> {
+
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+
+    private final List<T> source;
+    private int from;
+    private final int to;
+
+    IndexedSpliterator(final List<T> source) {
+        this(source, 0, source.size());
+    }
+
+    private IndexedSpliterator(final List<T> source, final int from, final int to) {
+        this.source = source;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (this.from >= this.to) {
+            return false;
+        }
+
+        action.accept(this.source.get(this.from++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        int end = this.to;
+
+        for (int index = this.from; index < end; index++) {
+            action.accept(this.source.get(index));
+        }
+
+        this.from = end;
+    }
+
+    @Override
+    public @Nullable Spliterator<T> trySplit() {
+        int middle = (this.from + this.to) >>> 1;
+
+        if (middle <= this.from) {
+            return null;
+        }
+
+        IndexedSpliterator<T> prefix = new IndexedSpliterator<>(this.source, this.from, middle);
+        this.from = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.to - this.from;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+}
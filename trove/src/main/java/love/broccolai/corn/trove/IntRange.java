@@ -0,0 +1,33 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Half open range of int values, used to describe generated troves without materializing them.
+ *
+ * @param from First value in the range
+ * @param to   Value after the last value in the range
+ */
+@NullMarked
+public record IntRange(int from, int to) {
+
+    public IntRange {
+        if (from > to) {
+            throw new IllegalArgumentException("from must not exceed to, got " + from + " > " + to);
+        }
+
+        if ((long) to - from > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("range must hold at most Integer.MAX_VALUE values, got " + ((long) to - from));
+        }
+    }
+
+    /**
+     * Get the amount of values in this range.
+     *
+     * @return Amount of values
+     */
+    public int size() {
+        return this.to - this.from;
+    }
+
+}
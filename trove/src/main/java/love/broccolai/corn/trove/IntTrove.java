@@ -0,0 +1,117 @@
+package love.broccolai.corn.trove;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+public interface IntTrove {
+
+    /**
+     * Create an IntTrove from a copy of the given values.
+     *
+     * @param values Values to construct with
+     * @return Trove containing the values
+     */
+    static IntTrove of(final int... values) {
+        return new ArrayIntTrove(Arrays.copyOf(values, values.length));
+    }
+
+    /**
+     * Create an IntTrove of every value from {@code from} up to, but excluding, {@code to}.
+     *
+     * <p>The values are never stored, sums and extremes are computed in closed form.</p>
+     *
+     * @param from First value
+     * @param to   Value after the last value
+     * @return Trove of the range
+     */
+    static IntTrove range(final int from, final int to) {
+        return new RangeIntTrove(new IntRange(from, to));
+    }
+
+    /**
+     * Get the amount of values in this trove.
+     *
+     * @return Amount of values
+     */
+    int size();
+
+    /**
+     * Sum every value, widened to a long so large troves do not overflow.
+     *
+     * @return Sum of all values
+     */
+    long sum();
+
+    /**
+     * Find the smallest value.
+     *
+     * @return Smallest value, or empty if the trove is empty
+     */
+    OptionalInt min();
+
+    /**
+     * Find the largest value.
+     *
+     * @return Largest value, or empty if the trove is empty
+     */
+    OptionalInt max();
+
+    /**
+     * Keep only values within an inclusive range.
+     *
+     * @param min Lowest value to keep
+     * @param max Highest value to keep
+     * @return Trove of values within the range
+     */
+    IntTrove filterRange(int min, int max);
+
+    /**
+     * Add a constant to every value.
+     *
+     * @param value Value to add
+     * @return Trove of shifted values
+     */
+    IntTrove add(int value);
+
+    /**
+     * Multiply every value by a constant.
+     *
+     * @param value Value to multiply by
+     * @return Trove of scaled values
+     */
+    IntTrove multiply(int value);
+
+    /**
+     * Map every value with an arbitrary operator.
+     *
+     * @param mapper Operator to apply
+     * @return Trove of mapped values
+     */
+    IntTrove map(IntUnaryOperator mapper);
+
+    /**
+     * Pass every value to a consumer in order.
+     *
+     * @param consumer Consumer to accept values
+     */
+    void forEach(IntConsumer consumer);
+
+    /**
+     * Box every value into a regular trove.
+     *
+     * @return Boxed trove
+     */
+    Trove<Integer> boxed();
+
+    /**
+     * Copy the values into a new array.
+     *
+     * @return Array of values
+     */
+    int[] toArray();
+
+}
@@ -0,0 +1,124 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Merges and joins troves, using linear merges when both inputs are already sorted the same way.
+ */
+@NullMarked
+final class Joining {
+
+    private Joining() {
+    }
+
+    static <T> SortedTrove<T> merge(final Trove<T> left, final Trove<T> right, final Comparator<? super T> comparator) {
+        List<T> leftElements = left.toList();
+        List<T> rightElements = right.toList();
+
+        if (!sortedBy(left, comparator) || !sortedBy(right, comparator)) {
+            List<T> result = new ArrayList<>(leftElements.size() + rightElements.size());
+            result.addAll(leftElements);
+            result.addAll(rightElements);
+            result.sort(comparator);
+
+            return SortedListTrove.eager(result, comparator);
+        }
+
+        List<T> result = new ArrayList<>(leftElements.size() + rightElements.size());
+        int leftIndex = 0;
+        int rightIndex = 0;
+
+        while (leftIndex < leftElements.size() && rightIndex < rightElements.size()) {
+            // ties take the left element first, keeping the merge stable
+            if (comparator.compare(rightElements.get(rightIndex), leftElements.get(leftIndex)) < 0) {
+                result.add(rightElements.get(rightIndex++));
+            } else {
+                result.add(leftElements.get(leftIndex++));
+            }
+        }
+
+        result.addAll(leftElements.subList(leftIndex, leftElements.size()));
+        result.addAll(rightElements.subList(rightIndex, rightElements.size()));
+
+        return SortedListTrove.eager(result, comparator);
+    }
+
+    static <T, U, K, R> Trove<R> join(
+        final Trove<T> left,
+        final Trove<U> right,
+        final TroveKey<T, K> leftKey,
+        final TroveKey<U, K> rightKey,
+        final BiFunction<? super T, ? super U, ? extends R> combiner
+    ) {
+        if (sortedBy(left, leftKey) && sortedBy(right, rightKey) && leftKey.order().equals(rightKey.order())) {
+            return mergeJoin(left.toList(), right.toList(), leftKey, rightKey, combiner);
+        }
+
+        Map<K, List<U>> index = new HashMap<>();
+        right.forEach(element -> index.computeIfAbsent(rightKey.apply(element), $ -> new ArrayList<>()).add(element));
+
+        List<R> result = new ArrayList<>();
+
+        for (T element : left.toList()) {
+            for (U match : index.getOrDefault(leftKey.apply(element), List.of())) {
+                result.add(combiner.apply(element, match));
+            }
+        }
+
+        return new ListBackedTrove<>(result);
+    }
+
+    private static <T, U, K, R> Trove<R> mergeJoin(
+        final List<T> left,
+        final List<U> right,
+        final TroveKey<T, K> leftKey,
+        final TroveKey<U, K> rightKey,
+        final BiFunction<? super T, ? super U, ? extends R> combiner
+    ) {
+        Comparator<? super K> order = leftKey.order();
+        List<R> result = new ArrayList<>();
+        int leftIndex = 0;
+        int rightIndex = 0;
+
+        while (leftIndex < left.size() && rightIndex < right.size()) {
+            K key = leftKey.apply(left.get(leftIndex));
+            int comparison = order.compare(key, rightKey.apply(right.get(rightIndex)));
+
+            if (comparison < 0) {
+                leftIndex++;
+            } else if (comparison > 0) {
+                rightIndex++;
+            } else {
+                int rightEnd = rightIndex;
+
+                while (rightEnd < right.size() && order.compare(key, rightKey.apply(right.get(rightEnd))) == 0) {
+                    rightEnd++;
+                }
+
+                // every left element sharing the key pairs with the whole run of matching right elements
+                while (leftIndex < left.size() && order.compare(key, leftKey.apply(left.get(leftIndex))) == 0) {
+                    for (int match = rightIndex; match < rightEnd; match++) {
+                        result.add(combiner.apply(left.get(leftIndex), right.get(match)));
+                    }
+
+                    leftIndex++;
+                }
+
+                rightIndex = rightEnd;
+            }
+        }
+
+        return new ListBackedTrove<>(result);
+    }
+
+    private static boolean sortedBy(final Trove<?> trove, final Comparator<?> comparator) {
+        return trove instanceof SortedTrove<?> sorted && sorted.comparator().equals(comparator);
+    }
+
+}
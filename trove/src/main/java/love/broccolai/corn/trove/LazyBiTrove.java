@@ -0,0 +1,59 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class LazyBiTrove<K, V> implements BiTrove<K, V> {
+
+    private final BiTraversal<K, V> traversal;
+
+    LazyBiTrove(final BiTraversal<K, V> traversal) {
+        this.traversal = traversal;
+    }
+
+    @Override
+    public BiTrove<K, V> filter(final BiPredicate<? super K, ? super V> predicate) {
+        return new LazyBiTrove<>(sink -> this.traversal.traverse((key, value) -> {
+            if (predicate.test(key, value)) {
+                sink.accept(key, value);
+            }
+        }));
+    }
+
+    @Override
+    public <R> BiTrove<K, R> mapValues(final Function<? super V, ? extends R> mapper) {
+        return new LazyBiTrove<>(sink -> this.traversal.traverse((key, value) -> sink.accept(key, mapper.apply(value))));
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> consumer) {
+        this.traversal.traverse(consumer);
+    }
+
+    @Override
+    public <R> Trove<R> toTrove(final BiFunction<? super K, ? super V, ? extends R> combiner) {
+        List<R> result = new ArrayList<>();
+
+        this.traversal.traverse((key, value) -> result.add(combiner.apply(key, value)));
+
+        return new ListBackedTrove<>(result);
+    }
+
+    @Override
+    public Map<K, V> toMap() {
+        Map<K, V> result = new LinkedHashMap<>();
+
+        this.traversal.traverse(result::put);
+
+        return result;
+    }
+
+}
@@ -0,0 +1,280 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Trove that defers intermediate operations until a terminal operation runs, fusing the
+ * whole pipeline into a single pass over the source.
+ */
+@NullMarked
+final class LazyTrove<T> implements Trove<T> {
+
+    private final Traversal<T> traversal;
+
+    // trailing run of pure filters, kept apart so later pure filters can join and reorder it
+    private final @Nullable Traversal<T> unfiltered;
+    private final List<Predicate<? super T>> pureFilters;
+
+    // traversal the trailing map and filter stages started from, so compiling can take them over
+    private final Traversal<?> origin;
+    private final List<PipelineCompiler.Stage> stages;
+
+    LazyTrove(final Traversal<T> traversal) {
+        this(traversal, traversal, List.of());
+    }
+
+    private LazyTrove(final Traversal<T> traversal, final Traversal<?> origin, final List<PipelineCompiler.Stage> stages) {
+        this.traversal = traversal;
+        this.unfiltered = null;
+        this.pureFilters = List.of();
+        this.origin = origin;
+        this.stages = stages;
+    }
+
+    private LazyTrove(
+        final Traversal<T> unfiltered,
+        final List<Predicate<? super T>> pureFilters,
+        final Traversal<?> origin,
+        final List<PipelineCompiler.Stage> stages
+    ) {
+        this.unfiltered = unfiltered;
+        this.pureFilters = pureFilters;
+        this.origin = origin;
+        this.stages = stages;
+        this.traversal = sink -> {
+            AdaptiveFilter<T> filter = new AdaptiveFilter<>(pureFilters);
+
+            return unfiltered.traverse(entry -> !filter.test(entry) || sink.push(entry));
+        };
+    }
+
+    @Override
+    public <R> Trove<R> map(final Function<T, R> mapper) {
+        return new LazyTrove<>(
+            sink -> this.traversal.traverse(entry -> sink.push(mapper.apply(entry))),
+            this.origin,
+            PipelineCompiler.append(this.stages, PipelineCompiler.Stage.map(mapper))
+        );
+    }
+
+    @Override
+    public <R> Trove<R> mapIfPresent(final Function<T, Optional<R>> mapper) {
+        return new LazyTrove<>(sink -> this.traversal.traverse(entry -> {
+            Optional<R> mapped = mapper.apply(entry);
+
+            return mapped.isEmpty() || sink.push(mapped.get());
+        }));
+    }
+
+    @Override
+    public <R> Trove<R> flatMap(final Function<T, Collection<R>> mapper) {
+        return new LazyTrove<>(sink -> this.traversal.traverse(entry -> Traversal.of(mapper.apply(entry)).traverse(sink)));
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        Holder<T> result = new Holder<>(identity);
+
+        this.traversal.traverse(entry -> {
+            result.value = accumulator.apply(result.value, entry);
+            return true;
+        });
+
+        return result.value;
+    }
+
+    @Override
+    public <R> Map<R, Collection<T>> group(final Function<T, R> grouper) {
+        Map<R, Collection<T>> output = new HashMap<>();
+
+        this.traversal.traverse(entry -> output.computeIfAbsent(grouper.apply(entry), $ -> new ArrayList<>()).add(entry));
+
+        return output;
+    }
+
+    @Override
+    public Trove<T> filter(final Predicate<T> predicate) {
+        if (predicate instanceof PurePredicate<T>) {
+            List<Predicate<? super T>> filters = new ArrayList<>(this.pureFilters);
+            filters.add(predicate);
+
+            return new LazyTrove<>(
+                this.unfiltered == null ? this.traversal : this.unfiltered,
+                filters,
+                this.origin,
+                PipelineCompiler.append(this.stages, PipelineCompiler.Stage.filter(predicate))
+            );
+        }
+
+        return new LazyTrove<>(
+            sink -> this.traversal.traverse(entry -> !predicate.test(entry) || sink.push(entry)),
+            this.origin,
+            PipelineCompiler.append(this.stages, PipelineCompiler.Stage.filter(predicate))
+        );
+    }
+
+    @Override
+    public <I> Trove<I> filterIsInstance(final Class<I> type) {
+        return new LazyTrove<>(sink -> this.traversal.traverse(entry -> !type.isInstance(entry) || sink.push(type.cast(entry))));
+    }
+
+    @Override
+    public <R> Trove<R> mapIndexed(final IndexedFunction<? super T, ? extends R> mapper) {
+        // every traversal counts from zero again, so the pipeline stays restartable
+        return new LazyTrove<>(sink -> {
+            int[] position = new int[1];
+
+            return this.traversal.traverse(entry -> sink.push(mapper.apply(position[0]++, entry)));
+        });
+    }
+
+    @Override
+    public Trove<T> filterIndexed(final IndexedPredicate<? super T> predicate) {
+        return new LazyTrove<>(sink -> {
+            int[] position = new int[1];
+
+            return this.traversal.traverse(entry -> !predicate.test(position[0]++, entry) || sink.push(entry));
+        });
+    }
+
+    @Override
+    public SortedTrove<T> sorted(final Comparator<? super T> comparator) {
+        return SortedListTrove.lazy(() -> {
+            List<T> elements = this.toList();
+            elements.sort(comparator);
+
+            return elements;
+        }, comparator);
+    }
+
+    @Override
+    public Trove<T> sortedByInt(final ToIntFunction<? super T> key) {
+        return new LazyTrove<>(sink -> Traversal.of(RadixSort.sortByInt(this.toList(), key)).traverse(sink));
+    }
+
+    @Override
+    public Trove<T> sortedByLong(final ToLongFunction<? super T> key) {
+        return new LazyTrove<>(sink -> Traversal.of(RadixSort.sortByLong(this.toList(), key)).traverse(sink));
+    }
+
+    @Override
+    public T average(
+        final T identity,
+        final BinaryOperator<T> accumulator,
+        final BiFunction<T, Integer, T> divider
+    ) {
+        Holder<T> sum = new Holder<>(identity);
+
+        this.traversal.traverse(entry -> {
+            sum.value = accumulator.apply(sum.value, entry);
+            sum.count++;
+            return true;
+        });
+
+        return divider.apply(sum.value, sum.count);
+    }
+
+    @Override
+    public Optional<T> first(final Predicate<T> predicate) {
+        Holder<T> result = new Holder<>(null);
+
+        this.traversal.traverse(entry -> {
+            if (!predicate.test(entry)) {
+                return true;
+            }
+
+            result.set(entry);
+            return false;
+        });
+
+        return result.toOptional();
+    }
+
+    @Override
+    public Optional<T> last(final Predicate<T> predicate) {
+        Holder<T> result = new Holder<>(null);
+
+        this.traversal.traverse(entry -> {
+            if (predicate.test(entry)) {
+                result.set(entry);
+            }
+
+            return true;
+        });
+
+        return result.toOptional();
+    }
+
+    @Override
+    public void forEach(final Consumer<T> consumer) {
+        this.traversal.traverse(entry -> {
+            consumer.accept(entry);
+            return true;
+        });
+    }
+
+    @Override
+    public void forEachIndexed(final IndexedConsumer<? super T> consumer) {
+        int[] position = new int[1];
+
+        this.traversal.traverse(entry -> {
+            consumer.accept(position[0]++, entry);
+            return true;
+        });
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        A container = collector.supplier().get();
+
+        this.traversal.traverse(entry -> {
+            collector.accumulator().accept(container, entry);
+            return true;
+        });
+
+        return collector.finisher().apply(container);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TraversalSpliterator<>(this.traversal);
+    }
+
+    @Override
+    public <A, R> Trove<R> gather(final TroveGatherer<? super T, A, R> gatherer) {
+        return new LazyTrove<>(sink -> Gathering.gather(gatherer, this.traversal, sink));
+    }
+
+    @Override
+    public Trove<T> lazy() {
+        return this;
+    }
+
+    @Override
+    public Trove<T> compile() {
+        return CompiledTrove.lazy(this.origin, this.stages);
+    }
+
+    @Override
+    public Trove<T> parallel() {
+        return new ParallelTrove<>(this.toList());
+    }
+
+}
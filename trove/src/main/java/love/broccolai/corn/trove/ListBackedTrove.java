@@ -2,15 +2,20 @@ package love.broccolai.corn.trove;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import org.jspecify.annotations.NullMarked;
 
@@ -23,9 +28,13 @@ final class ListBackedTrove<T> implements Trove<T> {
         this.source = source;
     }
 
+    List<T> source() {
+        return this.source;
+    }
+
     @Override
     public <R> Trove<R> map(final Function<T, R> mapper) {
-        List<R> result = new ArrayList<>();
+        List<R> result = new ArrayList<>(this.source.size());
 
         for (T entry : this.source) {
             result.add(mapper.apply(entry));
@@ -86,34 +95,59 @@ final class ListBackedTrove<T> implements Trove<T> {
 
     @Override
     public Trove<T> filter(final Predicate<T> predicate) {
-        List<T> result = new ArrayList<>();
+        return new ListBackedTrove<>(SelectionList.select(this.source, predicate));
+    }
+
+    @Override
+    public <I> Trove<I> filterIsInstance(final Class<I> type) {
+        List<I> result = new ArrayList<>();
 
         for (T entry : this.source) {
-            if (!predicate.test(entry)) {
+            if (!type.isInstance(entry)) {
                 continue;
             }
 
-            result.add(entry);
+            result.add(type.cast(entry));
         }
 
         return new ListBackedTrove<>(result);
     }
 
     @Override
-    public <I> Trove<I> filterIsInstance(final Class<I> type) {
-        List<I> result = new ArrayList<>();
+    public <R> Trove<R> mapIndexed(final IndexedFunction<? super T, ? extends R> mapper) {
+        List<R> result = new ArrayList<>(this.source.size());
+        int index = 0;
 
         for (T entry : this.source) {
-            if (!type.isInstance(entry)) {
-                continue;
-            }
-
-            result.add(type.cast(entry));
+            result.add(mapper.apply(index++, entry));
         }
 
         return new ListBackedTrove<>(result);
     }
 
+    @Override
+    public Trove<T> filterIndexed(final IndexedPredicate<? super T> predicate) {
+        return new ListBackedTrove<>(SelectionList.selectIndexed(this.source, predicate));
+    }
+
+    @Override
+    public SortedTrove<T> sorted(final Comparator<? super T> comparator) {
+        List<T> result = new ArrayList<>(this.source);
+        result.sort(comparator);
+
+        return SortedListTrove.eager(result, comparator);
+    }
+
+    @Override
+    public Trove<T> sortedByInt(final ToIntFunction<? super T> key) {
+        return new ListBackedTrove<>(RadixSort.sortByInt(this.source, key));
+    }
+
+    @Override
+    public Trove<T> sortedByLong(final ToLongFunction<? super T> key) {
+        return new ListBackedTrove<>(RadixSort.sortByLong(this.source, key));
+    }
+
     @Override
     public T average(
         final T identity,
@@ -160,6 +194,49 @@ final class ListBackedTrove<T> implements Trove<T> {
         }
     }
 
+    @Override
+    public void forEachIndexed(final IndexedConsumer<? super T> consumer) {
+        int index = 0;
+
+        for (T entry : this.source) {
+            consumer.accept(index++, entry);
+        }
+    }
+
+    @Override
+    public long longSize() {
+        return this.source.size();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexedSpliterator<>(this.source);
+    }
+
+    @Override
+    public IntTrove mapToInt(final ToIntFunction<T> mapper) {
+        int[] values = new int[this.source.size()];
+        int index = 0;
+
+        for (T entry : this.source) {
+            values[index++] = mapper.applyAsInt(entry);
+        }
+
+        return new ArrayIntTrove(values);
+    }
+
+    @Override
+    public DoubleTrove mapToDouble(final ToDoubleFunction<T> mapper) {
+        double[] values = new double[this.source.size()];
+        int index = 0;
+
+        for (T entry : this.source) {
+            values[index++] = mapper.applyAsDouble(entry);
+        }
+
+        return new ArrayDoubleTrove(values);
+    }
+
     @Override
     public <R, A> R collect(final Collector<? super T, A, R> collector) {
         A container = collector.supplier().get();
@@ -170,4 +247,29 @@ final class ListBackedTrove<T> implements Trove<T> {
 
         return collector.finisher().apply(container);
     }
+
+    @Override
+    public <A, R> Trove<R> gather(final TroveGatherer<? super T, A, R> gatherer) {
+        List<R> result = new ArrayList<>();
+
+        Gathering.gather(gatherer, Traversal.of(this.source), result::add);
+
+        return new ListBackedTrove<>(result);
+    }
+
+    @Override
+    public Trove<T> lazy() {
+        return new LazyTrove<>(Traversal.of(this.source));
+    }
+
+    @Override
+    public Trove<T> compile() {
+        return CompiledTrove.of(this.source);
+    }
+
+    @Override
+    public Trove<T> parallel() {
+        return new ParallelTrove<>(this.source);
+    }
+
 }
@@ -0,0 +1,158 @@
+package love.broccolai.corn.trove;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Trove storing its elements in direct memory using a fixed width layout, keeping them out of the
+ * garbage collector's reach.
+ *
+ * <p>Regular trove operations decode elements as they read them. The record operations instead
+ * read fields straight out of the buffer at each element's offset, so no element is ever
+ * decoded. Once closed the trove drops its buffer and every operation fails. Lazy views taken
+ * before closing read the buffer as they go and fail too, while results that were already
+ * materialized, such as those of {@code map} or {@code filter}, stay usable.</p>
+ *
+ * @param <T> the type of elements
+ */
+@NullMarked
+public interface OffHeapTrove<T> extends CloseableTrove<T> {
+
+    /**
+     * Create an off heap trove from a collection.
+     *
+     * @param elements Elements to store
+     * @param layout   Layout to encode elements with
+     * @param <T>      the type of elements
+     * @return Off heap trove of the elements
+     */
+    static <T> OffHeapTrove<T> of(final Collection<? extends T> elements, final TroveLayout<T> layout) {
+        DirectOffHeapTrove<T> result = new DirectOffHeapTrove<>(layout, elements.size());
+        elements.forEach(result::append);
+
+        return result;
+    }
+
+    /**
+     * Create an off heap trove from the elements of another trove, which is evaluated once.
+     *
+     * @param elements Trove of elements to store
+     * @param layout   Layout to encode elements with
+     * @param <T>      the type of elements
+     * @return Off heap trove of the elements
+     */
+    static <T> OffHeapTrove<T> of(final Trove<T> elements, final TroveLayout<T> layout) {
+        return of(elements.toList(), layout);
+    }
+
+    /**
+     * Get the amount of stored elements.
+     *
+     * @return Amount of elements
+     */
+    int size();
+
+    /**
+     * Keep only records matching a predicate, copying their bytes without decoding them.
+     *
+     * @param predicate Predicate reading fields of a record
+     * @return Off heap trove of matching records, which must be closed separately
+     */
+    OffHeapTrove<T> filterRecords(RecordPredicate predicate);
+
+    /**
+     * Read an int from every record into a primitive trove.
+     *
+     * @param mapper Function reading fields of a record
+     * @return Trove of read values
+     */
+    IntTrove mapRecordsToInt(RecordToIntFunction mapper);
+
+    /**
+     * Read a double from every record into a primitive trove.
+     *
+     * @param mapper Function reading fields of a record
+     * @return Trove of read values
+     */
+    DoubleTrove mapRecordsToDouble(RecordToDoubleFunction mapper);
+
+    /**
+     * Fold every record into a long without decoding it.
+     *
+     * @param identity Initial value
+     * @param reducer  Function combining the value so far with fields of a record
+     * @return Folded value
+     */
+    long reduceRecords(long identity, RecordReducer reducer);
+
+    /**
+     * Tests a record by reading its fields.
+     */
+    @FunctionalInterface
+    interface RecordPredicate {
+
+        /**
+         * Test a record.
+         *
+         * @param records Buffer holding the record
+         * @param offset  Offset of the record's first byte
+         * @return true if the record matches
+         */
+        boolean test(ByteBuffer records, int offset);
+
+    }
+
+    /**
+     * Reads an int from a record.
+     */
+    @FunctionalInterface
+    interface RecordToIntFunction {
+
+        /**
+         * Read a value from a record.
+         *
+         * @param records Buffer holding the record
+         * @param offset  Offset of the record's first byte
+         * @return Read value
+         */
+        int applyAsInt(ByteBuffer records, int offset);
+
+    }
+
+    /**
+     * Reads a double from a record.
+     */
+    @FunctionalInterface
+    interface RecordToDoubleFunction {
+
+        /**
+         * Read a value from a record.
+         *
+         * @param records Buffer holding the record
+         * @param offset  Offset of the record's first byte
+         * @return Read value
+         */
+        double applyAsDouble(ByteBuffer records, int offset);
+
+    }
+
+    /**
+     * Folds a record into a long.
+     */
+    @FunctionalInterface
+    interface RecordReducer {
+
+        /**
+         * Fold a record.
+         *
+         * @param accumulator Value so far
+         * @param records     Buffer holding the record
+         * @param offset      Offset of the record's first byte
+         * @return New value
+         */
+        long apply(long accumulator, ByteBuffer records, int offset);
+
+    }
+
+}
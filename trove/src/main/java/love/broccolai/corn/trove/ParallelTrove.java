@@ -0,0 +1,327 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Trove that splits its source into contiguous chunks processed on the common fork join pool.
+ *
+ * <p>Results are assembled in encounter order, so only {@link #forEach(Consumer)} observes
+ * elements out of order.</p>
+ */
+@NullMarked
+final class ParallelTrove<T> implements Trove<T> {
+
+    // below this many elements per chunk, forking costs more than it saves
+    private static final int MINIMUM_CHUNK = 1 << 10;
+
+    private final List<T> source;
+
+    ParallelTrove(final List<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public <R> Trove<R> map(final Function<T, R> mapper) {
+        return this.concat(this.chunks(chunk -> chunk.map(mapper)));
+    }
+
+    @Override
+    public <R> Trove<R> mapIfPresent(final Function<T, Optional<R>> mapper) {
+        return this.concat(this.chunks(chunk -> chunk.mapIfPresent(mapper)));
+    }
+
+    @Override
+    public <R> Trove<R> flatMap(final Function<T, Collection<R>> mapper) {
+        return this.concat(this.chunks(chunk -> chunk.flatMap(mapper)));
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        T result = identity;
+
+        for (T partial : this.chunks(chunk -> chunk.reduce(identity, accumulator))) {
+            result = accumulator.apply(result, partial);
+        }
+
+        return result;
+    }
+
+    @Override
+    public <R> Map<R, Collection<T>> group(final Function<T, R> grouper) {
+        Map<R, Collection<T>> output = new HashMap<>();
+
+        for (Map<R, Collection<T>> partial : this.chunks(chunk -> chunk.group(grouper))) {
+            partial.forEach((key, values) -> output.computeIfAbsent(key, $ -> new ArrayList<>()).addAll(values));
+        }
+
+        return output;
+    }
+
+    @Override
+    public Trove<T> filter(final Predicate<T> predicate) {
+        return this.concat(this.chunks(chunk -> chunk.filter(predicate)));
+    }
+
+    @Override
+    public <I> Trove<I> filterIsInstance(final Class<I> type) {
+        return this.concat(this.chunks(chunk -> chunk.filterIsInstance(type)));
+    }
+
+    @Override
+    public <R> Trove<R> mapIndexed(final IndexedFunction<? super T, ? extends R> mapper) {
+        return this.concat(this.offsetChunks((offset, chunk) -> chunk.mapIndexed((index, entry) -> mapper.apply(offset + index, entry))));
+    }
+
+    @Override
+    public Trove<T> filterIndexed(final IndexedPredicate<? super T> predicate) {
+        return this.concat(this.offsetChunks((offset, chunk) -> chunk.filterIndexed((index, entry) -> predicate.test(offset + index, entry))));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public SortedTrove<T> sorted(final Comparator<? super T> comparator) {
+        // a stable merge sort of chunks sorted in parallel, merged in parallel on the common pool
+        T[] result = (T[]) this.source.toArray();
+        Arrays.parallelSort(result, comparator);
+
+        return SortedListTrove.parallel(Arrays.asList(result), comparator);
+    }
+
+    @Override
+    public Trove<T> sortedByInt(final ToIntFunction<? super T> key) {
+        return new ParallelTrove<>(RadixSort.sortByInt(this.source, key));
+    }
+
+    @Override
+    public Trove<T> sortedByLong(final ToLongFunction<? super T> key) {
+        return new ParallelTrove<>(RadixSort.sortByLong(this.source, key));
+    }
+
+    @Override
+    public T average(
+        final T identity,
+        final BinaryOperator<T> accumulator,
+        final BiFunction<T, Integer, T> divider
+    ) {
+        return divider.apply(this.reduce(identity, accumulator), this.source.size());
+    }
+
+    @Override
+    public Optional<T> first(final Predicate<T> predicate) {
+        return this.search(ChunkSearch.first(), predicate);
+    }
+
+    @Override
+    public Optional<T> findAny(final Predicate<T> predicate) {
+        return this.search(ChunkSearch.any(), predicate);
+    }
+
+    @Override
+    public Optional<T> last(final Predicate<T> predicate) {
+        return this.search(ChunkSearch.last(), predicate);
+    }
+
+    @Override
+    public void forEach(final Consumer<T> consumer) {
+        this.chunks(chunk -> {
+            chunk.forEach(consumer);
+            return true;
+        });
+    }
+
+    @Override
+    public void forEachIndexed(final IndexedConsumer<? super T> consumer) {
+        this.offsetChunks((offset, chunk) -> {
+            chunk.forEachIndexed((index, entry) -> consumer.accept(offset + index, entry));
+            return true;
+        });
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        List<A> partials = this.chunks(chunk -> {
+            A container = collector.supplier().get();
+            chunk.forEach(entry -> collector.accumulator().accept(container, entry));
+            return container;
+        });
+
+        A result = partials.get(0);
+
+        for (int index = 1; index < partials.size(); index++) {
+            result = collector.combiner().apply(result, partials.get(index));
+        }
+
+        return collector.finisher().apply(result);
+    }
+
+    @Override
+    public long longSize() {
+        return this.source.size();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexedSpliterator<>(this.source);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    @Override
+    public <A, R> Trove<R> gather(final TroveGatherer<? super T, A, R> gatherer) {
+        Optional<BinaryOperator<A>> combiner = gatherer.combiner();
+        List<R> result = new ArrayList<>();
+
+        if (combiner.isEmpty()) {
+            Gathering.gather(gatherer, Traversal.of(this.source), result::add);
+            return new ParallelTrove<>(result);
+        }
+
+        List<GatheredChunk<A, R>> partials = this.chunks(chunk -> {
+            GatheredChunk<A, R> gathered = new GatheredChunk<>(gatherer.initializer().get());
+            Gathering.TrackingDownstream<R> downstream = new Gathering.TrackingDownstream<>(gathered.output::add);
+            gathered.completed = Gathering.integrate(gatherer, gathered.state, Traversal.of(chunk.source()), downstream);
+            return gathered;
+        });
+
+        A state = partials.get(0).state;
+
+        for (int index = 0; index < partials.size(); index++) {
+            GatheredChunk<A, R> partial = partials.get(index);
+
+            if (index > 0) {
+                state = combiner.get().apply(state, partial.state);
+            }
+
+            result.addAll(partial.output);
+
+            // a chunk that stopped early hides every element encountered after it
+            if (!partial.completed) {
+                break;
+            }
+        }
+
+        gatherer.finisher().accept(state, result::add);
+
+        return new ParallelTrove<>(result);
+    }
+
+    @Override
+    public Trove<T> lazy() {
+        return new LazyTrove<>(Traversal.of(this.source));
+    }
+
+    @Override
+    public Trove<T> compile() {
+        return CompiledTrove.parallel(this.split());
+    }
+
+    @Override
+    public Trove<T> parallel() {
+        return this;
+    }
+
+    private <R> Trove<R> concat(final List<Trove<R>> partials) {
+        List<R> result = new ArrayList<>();
+
+        for (Trove<R> partial : partials) {
+            partial.forEach(result::add);
+        }
+
+        return new ParallelTrove<>(result);
+    }
+
+    private Optional<T> search(final ChunkSearch search, final Predicate<T> predicate) {
+        // chunks start at distinct offsets in encounter order, so the offset doubles as the chunk key
+        return search.select(this.offsetChunks((offset, chunk) -> {
+            List<T> elements = chunk.source();
+            return search.scan(offset, elements.size(), position -> elements.get((int) position), predicate);
+        }));
+    }
+
+    private <R> List<R> chunks(final Function<ListBackedTrove<T>, R> task) {
+        return this.offsetChunks(($, chunk) -> task.apply(chunk));
+    }
+
+    private <R> List<R> offsetChunks(final ChunkTask<T, R> task) {
+        List<List<T>> chunks = this.split();
+
+        if (chunks.size() == 1) {
+            return Collections.singletonList(task.run(0, new ListBackedTrove<>(this.source)));
+        }
+
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(chunks.size());
+        int from = 0;
+
+        for (List<T> chunk : chunks) {
+            int offset = from;
+            tasks.add(ForkJoinTask.adapt(() -> task.run(offset, new ListBackedTrove<>(chunk))));
+            from += chunk.size();
+        }
+
+        List<R> results = new ArrayList<>(chunks.size());
+
+        for (ForkJoinTask<R> forked : ForkJoinTask.invokeAll(tasks)) {
+            results.add(forked.join());
+        }
+
+        return results;
+    }
+
+    private List<List<T>> split() {
+        int size = this.source.size();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int count = Math.max(1, Math.min(parallelism * 4, size / MINIMUM_CHUNK));
+        List<List<T>> chunks = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+            chunks.add(this.source.subList((int) ((long) size * index / count), (int) ((long) size * (index + 1) / count)));
+        }
+
+        return chunks;
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask<T, R> {
+
+        R run(int offset, ListBackedTrove<T> chunk);
+
+    }
+
+    private static final class GatheredChunk<A, R> {
+
+        private final A state;
+        private final List<R> output = new ArrayList<>();
+        private boolean completed;
+
+        private GatheredChunk(final A state) {
+            this.state = state;
+        }
+
+    }
+
+}
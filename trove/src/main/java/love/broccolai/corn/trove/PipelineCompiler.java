@@ -0,0 +1,290 @@
+package love.broccolai.corn.trove;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Compiles the stages of a pipeline into a single method handle, run by a copy of
+ * {@link CompiledPipeline} defined for that pipeline alone.
+ *
+ * <p>Only the shape of a pipeline, the kinds of its stages in order, is cached. Functions are
+ * bound into the handle of a single pipeline, so the cache never keeps them reachable and
+ * pipelines capturing different values still share their shape.</p>
+ */
+@NullMarked
+final class PipelineCompiler {
+
+    /**
+     * Marker returned by compiled stages for elements a filter dropped.
+     */
+    static final Object SKIP = new Object();
+
+    // shapes past this many are still compiled, just not kept
+    private static final int MAX_SHAPES = 256;
+
+    private static final MethodHandle APPLY;
+    private static final MethodHandle TEST;
+
+    private static final Map<List<Kind>, MethodHandle> SHAPES = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodType generic = MethodType.methodType(Object.class, Object.class, Object.class);
+
+            // (Object element, Object function), the order stages take their arguments in
+            APPLY = MethodHandles.permuteArguments(
+                lookup.findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class)).asType(generic),
+                generic,
+                1,
+                0
+            );
+            TEST = MethodHandles.permuteArguments(
+                lookup.findVirtual(Predicate.class, "test", MethodType.methodType(boolean.class, Object.class))
+                    .asType(generic.changeReturnType(boolean.class)),
+                generic.changeReturnType(boolean.class),
+                1,
+                0
+            );
+        } catch (final ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private PipelineCompiler() {
+    }
+
+    /**
+     * Compile a pipeline into a kernel of its own. The kernel is not shared, so it can be
+     * unloaded together with the trove holding it.
+     *
+     * @param stages Stages of the pipeline in order
+     * @return Compiled kernel
+     */
+    static Kernel compile(final List<Stage> stages) {
+        List<Kind> kinds = new ArrayList<>(stages.size());
+        Object[] functions = new Object[stages.size()];
+
+        for (int index = 0; index < stages.size(); index++) {
+            kinds.add(stages.get(index).kind());
+            functions[index] = stages.get(index).function();
+        }
+
+        MethodHandle shape = SHAPES.get(kinds);
+
+        if (shape == null) {
+            shape = shape(kinds);
+
+            // building a shape only combines method handles, so a race just builds it twice
+            if (SHAPES.size() < MAX_SHAPES) {
+                SHAPES.putIfAbsent(List.copyOf(kinds), shape);
+            }
+        }
+
+        // (Object)Object, with every function bound in as a constant of this pipeline
+        MethodHandle handle = MethodHandles.insertArguments(shape, 1, functions);
+
+        try {
+            MethodHandles.Lookup pipeline = MethodHandles.lookup().defineHiddenClassWithClassData(Template.BYTES, handle, true);
+            Class<?> type = pipeline.lookupClass();
+
+            return new Kernel(
+                pipeline.findStatic(type, "forEach", MethodType.methodType(void.class, List.class, Consumer.class)),
+                pipeline.findStatic(type, "reduce", MethodType.methodType(Object.class, List.class, Object.class, BinaryOperator.class)),
+                pipeline.findStatic(type, "first", MethodType.methodType(Object.class, List.class, Predicate.class)),
+                pipeline.findStatic(type, "collect", MethodType.methodType(void.class, List.class, Object.class, BiConsumer.class)),
+                pipeline.findStatic(type, "traverse", MethodType.methodType(boolean.class, List.class, TroveGatherer.Downstream.class)),
+                pipeline.findStatic(type, "sink", MethodType.methodType(TroveGatherer.Downstream.class, TroveGatherer.Downstream.class))
+            );
+        } catch (final ReflectiveOperationException exception) {
+            throw new IllegalStateException("failed to compile pipeline", exception);
+        }
+    }
+
+    /**
+     * Append a stage to the stages of a pipeline.
+     *
+     * @param stages Stages of the pipeline in order
+     * @param stage  Stage to append
+     * @return Stages of the longer pipeline
+     */
+    static List<Stage> append(final List<Stage> stages, final Stage stage) {
+        List<Stage> output = new ArrayList<>(stages.size() + 1);
+        output.addAll(stages);
+        output.add(stage);
+
+        return List.copyOf(output);
+    }
+
+    /**
+     * Build the handle of a pipeline shape, taking the element followed by the function of every
+     * stage in order.
+     */
+    private static MethodHandle shape(final List<Kind> kinds) {
+        // folded from the last stage back, so every stage hands its result straight to the next
+        MethodHandle handle = MethodHandles.identity(Object.class);
+
+        for (int index = kinds.size() - 1; index >= 0; index--) {
+            handle = switch (kinds.get(index)) {
+                case MAP -> MethodHandles.collectArguments(handle, 0, APPLY);
+                case FILTER -> {
+                    MethodHandle pass = MethodHandles.dropArguments(handle, 1, Object.class);
+                    MethodHandle skip = MethodHandles.dropArguments(
+                        MethodHandles.constant(Object.class, SKIP),
+                        0,
+                        pass.type().parameterList()
+                    );
+
+                    yield MethodHandles.guardWithTest(TEST, pass, skip);
+                }
+            };
+        }
+
+        return handle;
+    }
+
+    static RuntimeException rethrow(final Throwable throwable) {
+        if (throwable instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+
+        // stages are plain functional interfaces, so only sneaky throws end up here
+        throw new IllegalStateException(throwable);
+    }
+
+    enum Kind {
+        MAP,
+        FILTER
+    }
+
+    /**
+     * Single map or filter stage of a pipeline.
+     *
+     * @param kind     Kind of the stage
+     * @param function Function or predicate of the stage
+     */
+    record Stage(Kind kind, Object function) {
+
+        static Stage map(final Function<?, ?> mapper) {
+            return new Stage(Kind.MAP, mapper);
+        }
+
+        static Stage filter(final Predicate<?> predicate) {
+            return new Stage(Kind.FILTER, predicate);
+        }
+
+    }
+
+    static final class Kernel {
+
+        private final MethodHandle forEach;
+        private final MethodHandle reduce;
+        private final MethodHandle first;
+        private final MethodHandle collect;
+        private final MethodHandle traverse;
+        private final MethodHandle sink;
+
+        private Kernel(
+            final MethodHandle forEach,
+            final MethodHandle reduce,
+            final MethodHandle first,
+            final MethodHandle collect,
+            final MethodHandle traverse,
+            final MethodHandle sink
+        ) {
+            this.forEach = forEach;
+            this.reduce = reduce;
+            this.first = first;
+            this.collect = collect;
+            this.traverse = traverse;
+            this.sink = sink;
+        }
+
+        void forEach(final List<?> source, final Consumer<?> consumer) {
+            try {
+                this.forEach.invokeExact(source, consumer);
+            } catch (final Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        Object reduce(final List<?> source, final Object identity, final BinaryOperator<?> accumulator) {
+            try {
+                return (Object) this.reduce.invokeExact(source, identity, accumulator);
+            } catch (final Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        Object first(final List<?> source, final Predicate<?> predicate) {
+            try {
+                return (Object) this.first.invokeExact(source, predicate);
+            } catch (final Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        void collect(final List<?> source, final Object container, final BiConsumer<?, ?> accumulator) {
+            try {
+                this.collect.invokeExact(source, container, accumulator);
+            } catch (final Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        <T> boolean traverse(final List<?> source, final TroveGatherer.Downstream<T> sink) {
+            try {
+                return (boolean) this.traverse.invokeExact(source, sink);
+            } catch (final Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> TroveGatherer.Downstream<T> sink(final TroveGatherer.Downstream<?> downstream) {
+            try {
+                return (TroveGatherer.Downstream<T>) this.sink.invokeExact(downstream);
+            } catch (final Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+    }
+
+    private static final class Template {
+
+        // read once, on the first compilation
+        private static final byte[] BYTES = read();
+
+        private static byte[] read() {
+            try (InputStream input = CompiledPipeline.class.getResourceAsStream("CompiledPipeline.class")) {
+                if (input == null) {
+                    throw new IllegalStateException("compiled pipeline template is missing");
+                }
+
+                return input.readAllBytes();
+            } catch (final IOException exception) {
+                throw new IllegalStateException("failed to read compiled pipeline template", exception);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,217 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Array kernels backing the primitive troves.
+ *
+ * <p>When the JVM resolved the incubating {@code jdk.incubator.vector} module, for example
+ * through {@code --add-modules jdk.incubator.vector}, every kernel runs its {@link VectorKernels}
+ * counterpart. Otherwise the scalar loops here run instead. They are kept free of calls and data
+ * dependent branches, and reductions are spread over independent lanes, so the JIT can unroll
+ * and vectorize them.</p>
+ */
+@NullMarked
+final class PrimitiveKernels {
+
+    private static final int LANES = 4;
+
+    // checked once, the vector kernels are never linked unless the module is there
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private PrimitiveKernels() {
+    }
+
+    static long sum(final int[] values, final int length) {
+        if (VECTORIZED) {
+            return VectorKernels.sum(values, length);
+        }
+
+        long lane0 = 0;
+        long lane1 = 0;
+        long lane2 = 0;
+        long lane3 = 0;
+        int bound = length - length % LANES;
+        int index = 0;
+
+        for (; index < bound; index += LANES) {
+            lane0 += values[index];
+            lane1 += values[index + 1];
+            lane2 += values[index + 2];
+            lane3 += values[index + 3];
+        }
+
+        for (; index < length; index++) {
+            lane0 += values[index];
+        }
+
+        return lane0 + lane1 + lane2 + lane3;
+    }
+
+    static double sum(final double[] values, final int length) {
+        if (VECTORIZED) {
+            return VectorKernels.sum(values, length);
+        }
+
+        double lane0 = 0;
+        double lane1 = 0;
+        double lane2 = 0;
+        double lane3 = 0;
+        int bound = length - length % LANES;
+        int index = 0;
+
+        for (; index < bound; index += LANES) {
+            lane0 += values[index];
+            lane1 += values[index + 1];
+            lane2 += values[index + 2];
+            lane3 += values[index + 3];
+        }
+
+        for (; index < length; index++) {
+            lane0 += values[index];
+        }
+
+        return lane0 + lane1 + lane2 + lane3;
+    }
+
+    static int min(final int[] values, final int length) {
+        if (VECTORIZED) {
+            return VectorKernels.min(values, length);
+        }
+
+        int result = Integer.MAX_VALUE;
+
+        for (int index = 0; index < length; index++) {
+            result = Math.min(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static int max(final int[] values, final int length) {
+        if (VECTORIZED) {
+            return VectorKernels.max(values, length);
+        }
+
+        int result = Integer.MIN_VALUE;
+
+        for (int index = 0; index < length; index++) {
+            result = Math.max(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static double min(final double[] values, final int length) {
+        if (VECTORIZED) {
+            return VectorKernels.min(values, length);
+        }
+
+        double result = Double.POSITIVE_INFINITY;
+
+        for (int index = 0; index < length; index++) {
+            result = Math.min(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static double max(final double[] values, final int length) {
+        if (VECTORIZED) {
+            return VectorKernels.max(values, length);
+        }
+
+        double result = Double.NEGATIVE_INFINITY;
+
+        for (int index = 0; index < length; index++) {
+            result = Math.max(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static int filterRange(final int[] values, final int length, final int min, final int max, final int[] output) {
+        if (VECTORIZED) {
+            return VectorKernels.filterRange(values, length, min, max, output);
+        }
+
+        // a single unsigned comparison covers both bounds, so the store is unconditional
+        int span = max - min;
+        int count = 0;
+
+        for (int index = 0; index < length; index++) {
+            int value = values[index];
+            output[count] = value;
+            count += Integer.compareUnsigned(value - min, span) <= 0 ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    static int filterRange(
+        final double[] values,
+        final int length,
+        final double min,
+        final double max,
+        final double[] output
+    ) {
+        if (VECTORIZED) {
+            return VectorKernels.filterRange(values, length, min, max, output);
+        }
+
+        int count = 0;
+
+        for (int index = 0; index < length; index++) {
+            double value = values[index];
+            output[count] = value;
+            count += value >= min & value <= max ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    static void add(final int[] values, final int length, final int operand, final int[] output) {
+        if (VECTORIZED) {
+            VectorKernels.add(values, length, operand, output);
+            return;
+        }
+
+        for (int index = 0; index < length; index++) {
+            output[index] = values[index] + operand;
+        }
+    }
+
+    static void add(final double[] values, final int length, final double operand, final double[] output) {
+        if (VECTORIZED) {
+            VectorKernels.add(values, length, operand, output);
+            return;
+        }
+
+        for (int index = 0; index < length; index++) {
+            output[index] = values[index] + operand;
+        }
+    }
+
+    static void multiply(final int[] values, final int length, final int operand, final int[] output) {
+        if (VECTORIZED) {
+            VectorKernels.multiply(values, length, operand, output);
+            return;
+        }
+
+        for (int index = 0; index < length; index++) {
+            output[index] = values[index] * operand;
+        }
+    }
+
+    static void multiply(final double[] values, final int length, final double operand, final double[] output) {
+        if (VECTORIZED) {
+            VectorKernels.multiply(values, length, operand, output);
+            return;
+        }
+
+        for (int index = 0; index < length; index++) {
+            output[index] = values[index] * operand;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package love.broccolai.corn.trove;
+
+import java.util.Comparator;
+import java.util.Optional;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Sorted trove answering lookups from the sorted trove it wraps while running every other
+ * operation on a profiled view of it.
+ */
+@NullMarked
+final class ProfilingSortedTrove<T> extends ForwardingTrove<T> implements SortedTrove<T> {
+
+    private final SortedTrove<T> sorted;
+    private final TroveProfile profile;
+    private final Trove<T> delegate;
+
+    ProfilingSortedTrove(final SortedTrove<T> sorted, final TroveProfile profile) {
+        this.sorted = sorted;
+        this.profile = profile;
+        this.delegate = new ProfilingTrove<>(sorted, profile);
+    }
+
+    @Override
+    Trove<T> delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public Comparator<? super T> comparator() {
+        return this.sorted.comparator();
+    }
+
+    @Override
+    public int lowerBound(final T key) {
+        return this.sorted.lowerBound(key);
+    }
+
+    @Override
+    public int upperBound(final T key) {
+        return this.sorted.upperBound(key);
+    }
+
+    @Override
+    public Optional<T> floor(final T key) {
+        return this.sorted.floor(key);
+    }
+
+    @Override
+    public Optional<T> ceiling(final T key) {
+        return this.sorted.ceiling(key);
+    }
+
+    @Override
+    public SortedTrove<T> range(final T from, final T to) {
+        return new ProfilingSortedTrove<>(this.sorted.range(from, to), this.profile);
+    }
+
+}
@@ -0,0 +1,375 @@
+package love.broccolai.corn.trove;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class ProfilingTrove<T> implements Trove<T> {
+
+    private final Trove<T> delegate;
+    private final TroveProfile profile;
+
+    ProfilingTrove(final Trove<T> delegate, final TroveProfile profile) {
+        this.delegate = delegate;
+        this.profile = profile;
+    }
+
+    @Override
+    public <R> Trove<R> map(final Function<T, R> mapper) {
+        StageRecorder recorder = new StageRecorder("map");
+
+        Trove<R> result = this.delegate.map(entry -> {
+            recorder.in();
+            recorder.out();
+            return mapper.apply(entry);
+        });
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public <R> Trove<R> mapIfPresent(final Function<T, Optional<R>> mapper) {
+        StageRecorder recorder = new StageRecorder("mapIfPresent");
+
+        Trove<R> result = this.delegate.mapIfPresent(entry -> {
+            recorder.in();
+            Optional<R> mapped = mapper.apply(entry);
+
+            if (mapped.isPresent()) {
+                recorder.out();
+            }
+
+            return mapped;
+        });
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public <R> Trove<R> flatMap(final Function<T, Collection<R>> mapper) {
+        StageRecorder recorder = new StageRecorder("flatMap");
+
+        Trove<R> result = this.delegate.flatMap(entry -> {
+            recorder.in();
+            Collection<R> mapped = mapper.apply(entry);
+            recorder.out(mapped.size());
+            return mapped;
+        });
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        StageRecorder recorder = new StageRecorder("reduce");
+
+        T result = this.delegate.reduce(identity, (left, right) -> {
+            recorder.in();
+            return accumulator.apply(left, right);
+        });
+
+        recorder.out();
+        recorder.finish(this.profile);
+
+        return result;
+    }
+
+    @Override
+    public <R> Map<R, Collection<T>> group(final Function<T, R> grouper) {
+        StageRecorder recorder = new StageRecorder("group");
+
+        Map<R, Collection<T>> result = this.delegate.group(entry -> {
+            recorder.in();
+            return grouper.apply(entry);
+        });
+
+        recorder.out(result.size());
+        recorder.finish(this.profile);
+
+        return result;
+    }
+
+    @Override
+    public Trove<T> filter(final Predicate<T> predicate) {
+        StageRecorder recorder = new StageRecorder("filter");
+
+        Predicate<T> counting = entry -> {
+            recorder.in();
+
+            if (!predicate.test(entry)) {
+                return false;
+            }
+
+            recorder.out();
+            return true;
+        };
+
+        Trove<T> result = this.delegate.filter(predicate instanceof PurePredicate<T> ? Trove.pure(counting) : counting);
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public <I> Trove<I> filterIsInstance(final Class<I> type) {
+        StageRecorder recorder = new StageRecorder("filterIsInstance");
+
+        Trove<I> result = this.delegate
+            .filter(entry -> {
+                recorder.in();
+
+                if (!type.isInstance(entry)) {
+                    return false;
+                }
+
+                recorder.out();
+                return true;
+            })
+            .map(type::cast);
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public <R> Trove<R> mapIndexed(final IndexedFunction<? super T, ? extends R> mapper) {
+        StageRecorder recorder = new StageRecorder("mapIndexed");
+
+        Trove<R> result = this.delegate.mapIndexed((index, entry) -> {
+            recorder.in();
+            recorder.out();
+            return mapper.apply(index, entry);
+        });
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public Trove<T> filterIndexed(final IndexedPredicate<? super T> predicate) {
+        StageRecorder recorder = new StageRecorder("filterIndexed");
+
+        Trove<T> result = this.delegate.filterIndexed((index, entry) -> {
+            recorder.in();
+
+            if (!predicate.test(index, entry)) {
+                return false;
+            }
+
+            recorder.out();
+            return true;
+        });
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public SortedTrove<T> sorted(final Comparator<? super T> comparator) {
+        StageRecorder recorder = new StageRecorder("sorted");
+
+        SortedTrove<T> result = this.delegate.sorted(comparator);
+        recorder.finish(this.profile);
+
+        // sorted list troves keep their lookups while profiling the rest, other sorted troves are wrapped
+        if (result instanceof SortedListTrove<T> sorted) {
+            return sorted.withDelegate(new ProfilingTrove<>(result, this.profile));
+        }
+
+        return new ProfilingSortedTrove<>(result, this.profile);
+    }
+
+    @Override
+    public Trove<T> sortedByInt(final ToIntFunction<? super T> key) {
+        StageRecorder recorder = new StageRecorder("sortedByInt");
+
+        Trove<T> result = this.delegate.sortedByInt(key);
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public Trove<T> sortedByLong(final ToLongFunction<? super T> key) {
+        StageRecorder recorder = new StageRecorder("sortedByLong");
+
+        Trove<T> result = this.delegate.sortedByLong(key);
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public T average(
+        final T identity,
+        final BinaryOperator<T> accumulator,
+        final BiFunction<T, Integer, T> divider
+    ) {
+        StageRecorder recorder = new StageRecorder("average");
+
+        T result = this.delegate.average(identity, (left, right) -> {
+            recorder.in();
+            return accumulator.apply(left, right);
+        }, divider);
+
+        recorder.out();
+        recorder.finish(this.profile);
+
+        return result;
+    }
+
+    @Override
+    public Optional<T> first(final Predicate<T> predicate) {
+        return this.find("first", predicate, this.delegate::first);
+    }
+
+    @Override
+    public Optional<T> last(final Predicate<T> predicate) {
+        return this.find("last", predicate, this.delegate::last);
+    }
+
+    @Override
+    public Optional<T> findAny(final Predicate<T> predicate) {
+        return this.find("findAny", predicate, this.delegate::findAny);
+    }
+
+    @Override
+    public void forEach(final Consumer<T> consumer) {
+        StageRecorder recorder = new StageRecorder("forEach");
+
+        this.delegate.forEach(entry -> {
+            recorder.in();
+            consumer.accept(entry);
+        });
+
+        recorder.finish(this.profile);
+    }
+
+    @Override
+    public void forEachIndexed(final IndexedConsumer<? super T> consumer) {
+        StageRecorder recorder = new StageRecorder("forEachIndexed");
+
+        this.delegate.forEachIndexed((index, entry) -> {
+            recorder.in();
+            consumer.accept(index, entry);
+        });
+
+        recorder.finish(this.profile);
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        StageRecorder recorder = new StageRecorder("collect");
+
+        R result = this.delegate.collect(Collector.of(
+            collector.supplier(),
+            (container, entry) -> {
+                recorder.in();
+                collector.accumulator().accept(container, entry);
+            },
+            collector.combiner(),
+            collector.finisher(),
+            collector.characteristics().toArray(Collector.Characteristics[]::new)
+        ));
+
+        recorder.out();
+        recorder.finish(this.profile);
+
+        return result;
+    }
+
+    @Override
+    public long longSize() {
+        return this.delegate.longSize();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return this.delegate.spliterator();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return this.delegate.stream();
+    }
+
+    @Override
+    public <A, R> Trove<R> gather(final TroveGatherer<? super T, A, R> gatherer) {
+        StageRecorder recorder = new StageRecorder("gather");
+        TroveGatherer.Integrator<A, ? super T, R> integrator = gatherer.integrator();
+        BiConsumer<A, TroveGatherer.Downstream<? super R>> finisher = gatherer.finisher();
+
+        Trove<R> result = this.delegate.gather(new TroveGathererImpl<T, A, R>(
+            gatherer.initializer(),
+            (state, entry, downstream) -> {
+                recorder.in();
+                return integrator.integrate(state, entry, counting(recorder, downstream));
+            },
+            gatherer.combiner(),
+            (state, downstream) -> finisher.accept(state, counting(recorder, downstream))
+        ));
+
+        return this.wrap(recorder, result);
+    }
+
+    @Override
+    public Trove<T> lazy() {
+        return new ProfilingTrove<>(this.delegate.lazy(), this.profile);
+    }
+
+    @Override
+    public Trove<T> parallel() {
+        return new ProfilingTrove<>(this.delegate.parallel(), this.profile);
+    }
+
+    @Override
+    public Trove<T> profile(final TroveProfile profile) {
+        return new ProfilingTrove<>(this.delegate, profile);
+    }
+
+    private Optional<T> find(
+        final String name,
+        final Predicate<T> predicate,
+        final Function<Predicate<T>, Optional<T>> search
+    ) {
+        StageRecorder recorder = new StageRecorder(name);
+
+        Optional<T> result = search.apply(entry -> {
+            recorder.in();
+            return predicate.test(entry);
+        });
+
+        if (result.isPresent()) {
+            recorder.out();
+        }
+
+        recorder.finish(this.profile);
+
+        return result;
+    }
+
+    private static <R> TroveGatherer.Downstream<R> counting(
+        final StageRecorder recorder,
+        final TroveGatherer.Downstream<R> downstream
+    ) {
+        return element -> {
+            recorder.out();
+            return downstream.push(element);
+        };
+    }
+
+    private <R> Trove<R> wrap(final StageRecorder recorder, final Trove<R> result) {
+        recorder.finish(this.profile);
+
+        return new ProfilingTrove<>(result, this.profile);
+    }
+
+}
@@ -0,0 +1,157 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Traversal subscribing to a publisher, requesting elements a batch at a time and running the
+ * downstream pipeline over each delivered batch.
+ *
+ * <p>At most one batch is ever outstanding, so a slow pipeline holds back the publisher
+ * instead of buffering without bound. Demand is topped back up to a full batch once half of it
+ * has been delivered, so the publisher sees few large requests instead of one per drain.</p>
+ */
+@NullMarked
+final class PublisherTraversal<T> implements Traversal<T> {
+
+    private final Flow.Publisher<? extends T> publisher;
+    private final int batchSize;
+
+    PublisherTraversal(final Flow.Publisher<? extends T> publisher, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive, got " + batchSize);
+        }
+
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean traverse(final TroveGatherer.Downstream<? super T> sink) {
+        BatchingSubscriber<T> subscriber = new BatchingSubscriber<>(this.batchSize);
+        this.publisher.subscribe(subscriber);
+
+        List<Object> batch = new ArrayList<>(this.batchSize);
+        // requested elements not yet taken off the queue, starting with the request on subscribe
+        int outstanding = this.batchSize;
+
+        try {
+            while (true) {
+                batch.add(subscriber.queue.take());
+                subscriber.queue.drainTo(batch);
+
+                for (Object signal : batch) {
+                    if (signal == BatchingSubscriber.COMPLETE) {
+                        if (subscriber.error != null) {
+                            throw new CompletionException(subscriber.error);
+                        }
+
+                        return true;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    T entry = (T) signal;
+                    outstanding--;
+
+                    if (!sink.push(entry)) {
+                        subscriber.cancel();
+                        return false;
+                    }
+                }
+
+                if (subscriber.overflowed) {
+                    throw new IllegalStateException("publisher delivered more elements than requested");
+                }
+
+                batch.clear();
+
+                if (outstanding <= this.batchSize / 2) {
+                    subscriber.request(this.batchSize - outstanding);
+                    outstanding = this.batchSize;
+                }
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            subscriber.cancel();
+
+            throw new CompletionException(exception);
+        } catch (final RuntimeException | Error exception) {
+            subscriber.cancel();
+
+            throw exception;
+        }
+    }
+
+    private static final class BatchingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private static final Object COMPLETE = new Object();
+
+        // room for a full batch plus the terminal signal
+        private final BlockingQueue<Object> queue;
+        private final int batchSize;
+        private volatile Flow.@Nullable Subscription subscription;
+        private volatile @Nullable Throwable error;
+        private volatile boolean cancelled;
+        private volatile boolean overflowed;
+
+        private BatchingSubscriber(final int batchSize) {
+            this.batchSize = batchSize;
+            this.queue = new ArrayBlockingQueue<>(batchSize + 1);
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            if (this.subscription != null || this.cancelled) {
+                subscription.cancel();
+                return;
+            }
+
+            this.subscription = subscription;
+            subscription.request(this.batchSize);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            if (!this.queue.offer(item)) {
+                this.overflowed = true;
+                this.cancel();
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+            this.queue.offer(COMPLETE);
+        }
+
+        @Override
+        public void onComplete() {
+            this.queue.offer(COMPLETE);
+        }
+
+        private void request(final int amount) {
+            Flow.Subscription current = this.subscription;
+
+            if (amount > 0 && current != null) {
+                current.request(amount);
+            }
+        }
+
+        private void cancel() {
+            this.cancelled = true;
+            Flow.Subscription current = this.subscription;
+
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+    }
+
+}
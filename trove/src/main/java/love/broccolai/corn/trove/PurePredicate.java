@@ -0,0 +1,18 @@
+package love.broccolai.corn.trove;
+
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Predicate declared free of side effects, which lazy troves may evaluate in any order
+ * relative to adjacent pure predicates.
+ */
+@NullMarked
+record PurePredicate<T>(Predicate<T> delegate) implements Predicate<T> {
+
+    @Override
+    public boolean test(final T entry) {
+        return this.delegate.test(entry);
+    }
+
+}
@@ -0,0 +1,131 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Stable least significant digit radix sort of elements by primitive keys.
+ *
+ * <p>Keys are extracted once into a primitive array and sorted a byte at a time, skipping bytes
+ * every key shares. Equal keys keep their encounter order.</p>
+ */
+@NullMarked
+final class RadixSort {
+
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGITS = 1 << DIGIT_BITS;
+
+    private RadixSort() {
+    }
+
+    static <T> List<T> sortByInt(final List<T> elements, final ToIntFunction<? super T> key) {
+        int size = elements.size();
+        long[] keys = new long[size];
+
+        for (int index = 0; index < size; index++) {
+            // flipping the sign bit makes unsigned order match signed order, the index rides along below
+            long unsigned = (key.applyAsInt(elements.get(index)) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+            keys[index] = unsigned << Integer.SIZE | index;
+        }
+
+        sort(keys, null, Integer.SIZE);
+
+        List<T> result = new ArrayList<>(size);
+
+        for (long packed : keys) {
+            result.add(elements.get((int) packed));
+        }
+
+        return result;
+    }
+
+    static <T> List<T> sortByLong(final List<T> elements, final ToLongFunction<? super T> key) {
+        int size = elements.size();
+        long[] keys = new long[size];
+        int[] indices = new int[size];
+
+        for (int index = 0; index < size; index++) {
+            keys[index] = key.applyAsLong(elements.get(index)) ^ Long.MIN_VALUE;
+            indices[index] = index;
+        }
+
+        sort(keys, indices, 0);
+
+        List<T> result = new ArrayList<>(size);
+
+        for (int index : indices) {
+            result.add(elements.get(index));
+        }
+
+        return result;
+    }
+
+    /**
+     * Sort keys as unsigned values by their bits from a shift upwards, moving indices along if given.
+     */
+    private static void sort(final long[] keys, final int @Nullable [] indices, final int fromShift) {
+        int size = keys.length;
+
+        if (size < 2) {
+            return;
+        }
+
+        long[] sourceKeys = keys;
+        long[] targetKeys = new long[size];
+        int[] sourceIndices = indices;
+        int[] targetIndices = indices == null ? null : new int[size];
+        int[] counts = new int[DIGITS];
+
+        for (int shift = fromShift; shift < Long.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+
+            for (long value : sourceKeys) {
+                counts[(int) (value >>> shift) & (DIGITS - 1)]++;
+            }
+
+            // a byte every key shares leaves the order unchanged
+            if (counts[(int) (sourceKeys[0] >>> shift) & (DIGITS - 1)] == size) {
+                continue;
+            }
+
+            int offset = 0;
+
+            for (int digit = 0; digit < DIGITS; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+
+            for (int index = 0; index < size; index++) {
+                int target = counts[(int) (sourceKeys[index] >>> shift) & (DIGITS - 1)]++;
+                targetKeys[target] = sourceKeys[index];
+
+                if (sourceIndices != null) {
+                    targetIndices[target] = sourceIndices[index];
+                }
+            }
+
+            long[] keySwap = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = keySwap;
+
+            int[] indexSwap = sourceIndices;
+            sourceIndices = targetIndices;
+            targetIndices = indexSwap;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, size);
+
+            if (indices != null) {
+                System.arraycopy(sourceIndices, 0, indices, 0, size);
+            }
+        }
+    }
+
+}
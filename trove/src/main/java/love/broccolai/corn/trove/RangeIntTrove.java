@@ -0,0 +1,132 @@
+package love.broccolai.corn.trove;
+
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * IntTrove over a half open range that never stores its values.
+ *
+ * <p>Aggregates are computed in closed form and range shaped results stay ranges, other
+ * operations write their output into an array.</p>
+ */
+@NullMarked
+final class RangeIntTrove implements IntTrove {
+
+    private final IntRange range;
+
+    RangeIntTrove(final IntRange range) {
+        this.range = range;
+    }
+
+    @Override
+    public int size() {
+        return this.range.size();
+    }
+
+    @Override
+    public long sum() {
+        long count = this.range.size();
+        long ends = (long) this.range.from() + this.range.to() - 1;
+
+        // one of the two factors is always even, halving it first keeps the product in range
+        if (count % 2 == 0) {
+            return count / 2 * ends;
+        }
+
+        return count * (ends / 2);
+    }
+
+    @Override
+    public OptionalInt min() {
+        if (this.range.size() == 0) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of(this.range.from());
+    }
+
+    @Override
+    public OptionalInt max() {
+        if (this.range.size() == 0) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of(this.range.to() - 1);
+    }
+
+    @Override
+    public IntTrove filterRange(final int min, final int max) {
+        int from = Math.max(this.range.from(), min);
+        int last = Math.min(this.range.to() - 1, max);
+
+        if (from > last) {
+            return new RangeIntTrove(new IntRange(this.range.from(), this.range.from()));
+        }
+
+        return new RangeIntTrove(new IntRange(from, last + 1));
+    }
+
+    @Override
+    public IntTrove add(final int value) {
+        long from = (long) this.range.from() + value;
+        long to = (long) this.range.to() + value;
+
+        if (from >= Integer.MIN_VALUE && to <= Integer.MAX_VALUE) {
+            return new RangeIntTrove(new IntRange((int) from, (int) to));
+        }
+
+        return this.map(element -> element + value);
+    }
+
+    @Override
+    public IntTrove multiply(final int value) {
+        if (value == 1) {
+            return this;
+        }
+
+        return this.map(element -> element * value);
+    }
+
+    @Override
+    public IntTrove map(final IntUnaryOperator mapper) {
+        int[] output = new int[this.range.size()];
+        int from = this.range.from();
+
+        for (int index = 0; index < output.length; index++) {
+            output[index] = mapper.applyAsInt(from + index);
+        }
+
+        return new ArrayIntTrove(output);
+    }
+
+    @Override
+    public void forEach(final IntConsumer consumer) {
+        int to = this.range.to();
+
+        for (int value = this.range.from(); value < to; value++) {
+            consumer.accept(value);
+        }
+    }
+
+    @Override
+    public Trove<Integer> boxed() {
+        int from = this.range.from();
+
+        return new ListBackedTrove<>(new GeneratedList<>(this.range.size(), index -> from + index));
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] output = new int[this.range.size()];
+        int from = this.range.from();
+
+        for (int index = 0; index < output.length; index++) {
+            output[index] = from + index;
+        }
+
+        return output;
+    }
+
+}
@@ -0,0 +1,55 @@
+package love.broccolai.corn.trove;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Sequentially decodes a known amount of elements from a spilled file.
+ */
+@NullMarked
+final class RunReader<T> implements Iterator<T>, Closeable {
+
+    private final DataInputStream input;
+    private final TroveCodec<T> codec;
+    private long remaining;
+
+    RunReader(final Path path, final long count, final TroveCodec<T> codec) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        this.codec = codec;
+        this.remaining = count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.remaining > 0;
+    }
+
+    @Override
+    public T next() {
+        if (this.remaining == 0) {
+            throw new NoSuchElementException();
+        }
+
+        this.remaining--;
+
+        try {
+            return this.codec.read(this.input);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+}
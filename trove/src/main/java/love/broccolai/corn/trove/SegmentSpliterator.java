@@ -0,0 +1,76 @@
+package love.broccolai.corn.trove;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Spliterator over segmented storage that only splits on chunk boundaries.
+ */
+@NullMarked
+final class SegmentSpliterator<T> implements Spliterator<T> {
+
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+
+    private final Segments<T> segments;
+    private long from;
+    private final long to;
+
+    SegmentSpliterator(final Segments<T> segments) {
+        this(segments, 0, segments.size());
+    }
+
+    private SegmentSpliterator(final Segments<T> segments, final long from, final long to) {
+        this.segments = segments;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (this.from >= this.to) {
+            return false;
+        }
+
+        action.accept(this.segments.get(this.from++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        long start = this.from;
+        this.from = this.to;
+
+        this.segments.traverse(start, this.to, element -> {
+            action.accept(element);
+            return true;
+        });
+    }
+
+    @Override
+    public @Nullable Spliterator<T> trySplit() {
+        long middle = ((this.from + this.to) >>> 1) & -Segments.CHUNK_SIZE;
+
+        // rounding down to a chunk boundary may leave nothing to hand off
+        if (middle <= this.from) {
+            return null;
+        }
+
+        Spliterator<T> prefix = new SegmentSpliterator<>(this.segments, this.from, middle);
+        this.from = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.to - this.from;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+}
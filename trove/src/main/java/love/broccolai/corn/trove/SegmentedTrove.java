@@ -0,0 +1,430 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Trove backed by segmented storage, able to hold more than {@link Integer#MAX_VALUE} elements.
+ *
+ * <p>When parallel, work is split into ranges aligned to chunk boundaries so no two tasks
+ * touch the same chunk.</p>
+ */
+@NullMarked
+final class SegmentedTrove<T> implements Trove<T> {
+
+    // sorted runs stay within a single array list before they are merged
+    private static final long RUN_LENGTH = 1L << 30;
+
+    private final Segments<T> segments;
+    private final boolean parallel;
+
+    SegmentedTrove(final Segments<T> segments, final boolean parallel) {
+        this.segments = segments;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public <R> Trove<R> map(final Function<T, R> mapper) {
+        return this.transform(output -> entry -> output.add(mapper.apply(entry)));
+    }
+
+    @Override
+    public <R> Trove<R> mapIfPresent(final Function<T, Optional<R>> mapper) {
+        return this.transform(output -> entry -> {
+            mapper.apply(entry).ifPresent(output::add);
+            return true;
+        });
+    }
+
+    @Override
+    public <R> Trove<R> flatMap(final Function<T, Collection<R>> mapper) {
+        return this.transform(output -> entry -> {
+            mapper.apply(entry).forEach(output::add);
+            return true;
+        });
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        T result = identity;
+
+        for (T partial : this.ranges((from, to) -> this.reduce(from, to, identity, accumulator))) {
+            result = accumulator.apply(result, partial);
+        }
+
+        return result;
+    }
+
+    @Override
+    public <R> Map<R, Collection<T>> group(final Function<T, R> grouper) {
+        List<Map<R, Collection<T>>> partials = this.ranges((from, to) -> {
+            Map<R, Collection<T>> output = new HashMap<>();
+
+            this.segments.traverse(from, to, entry -> output.computeIfAbsent(grouper.apply(entry), $ -> new ArrayList<>()).add(entry));
+
+            return output;
+        });
+
+        Map<R, Collection<T>> output = partials.get(0);
+
+        for (int index = 1; index < partials.size(); index++) {
+            partials.get(index).forEach((key, values) -> output.computeIfAbsent(key, $ -> new ArrayList<>()).addAll(values));
+        }
+
+        return output;
+    }
+
+    @Override
+    public Trove<T> filter(final Predicate<T> predicate) {
+        return this.transform(output -> entry -> !predicate.test(entry) || output.add(entry));
+    }
+
+    @Override
+    public <I> Trove<I> filterIsInstance(final Class<I> type) {
+        return this.transform(output -> entry -> !type.isInstance(entry) || output.add(type.cast(entry)));
+    }
+
+    @Override
+    public <R> Trove<R> mapIndexed(final IndexedFunction<? super T, ? extends R> mapper) {
+        return this.indexedTransform((offset, output) -> {
+            int[] position = new int[1];
+            return entry -> output.add(mapper.apply(offset + position[0]++, entry));
+        });
+    }
+
+    @Override
+    public Trove<T> filterIndexed(final IndexedPredicate<? super T> predicate) {
+        return this.indexedTransform((offset, output) -> {
+            int[] position = new int[1];
+            return entry -> !predicate.test(offset + position[0]++, entry) || output.add(entry);
+        });
+    }
+
+    @Override
+    public SortedTrove<T> sorted(final Comparator<? super T> comparator) {
+        Segments<T> output = this.sortRuns(run -> this.sortRun(run, comparator), comparator);
+
+        // lookups view the sorted chunks as a list, which limits them to Integer.MAX_VALUE elements
+        return SortedListTrove.backedBy(
+            () -> output.view(0, output.size()),
+            comparator,
+            this.parallel,
+            new SegmentedTrove<>(output, this.parallel)
+        );
+    }
+
+    @Override
+    public Trove<T> sortedByInt(final ToIntFunction<? super T> key) {
+        Segments<T> output = this.sortRuns(run -> RadixSort.sortByInt(run, key), Comparator.comparingInt(key));
+
+        return new SegmentedTrove<>(output, this.parallel);
+    }
+
+    @Override
+    public Trove<T> sortedByLong(final ToLongFunction<? super T> key) {
+        Segments<T> output = this.sortRuns(run -> RadixSort.sortByLong(run, key), Comparator.comparingLong(key));
+
+        return new SegmentedTrove<>(output, this.parallel);
+    }
+
+    @Override
+    public T average(
+        final T identity,
+        final BinaryOperator<T> accumulator,
+        final BiFunction<T, Integer, T> divider
+    ) {
+        return divider.apply(this.reduce(identity, accumulator), Math.toIntExact(this.segments.size()));
+    }
+
+    @Override
+    public Optional<T> first(final Predicate<T> predicate) {
+        return this.search(ChunkSearch.first(), predicate);
+    }
+
+    @Override
+    public Optional<T> findAny(final Predicate<T> predicate) {
+        return this.search(ChunkSearch.any(), predicate);
+    }
+
+    @Override
+    public Optional<T> last(final Predicate<T> predicate) {
+        return this.search(ChunkSearch.last(), predicate);
+    }
+
+    @Override
+    public void forEach(final Consumer<T> consumer) {
+        this.ranges((from, to) -> this.segments.traverse(from, to, entry -> {
+            consumer.accept(entry);
+            return true;
+        }));
+    }
+
+    @Override
+    public void forEachIndexed(final IndexedConsumer<? super T> consumer) {
+        this.requireIntPositions();
+
+        this.ranges((from, to) -> {
+            int[] position = new int[1];
+
+            return this.segments.traverse(from, to, entry -> {
+                consumer.accept((int) from + position[0]++, entry);
+                return true;
+            });
+        });
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        List<A> partials = this.ranges((from, to) -> {
+            A container = collector.supplier().get();
+
+            this.segments.traverse(from, to, entry -> {
+                collector.accumulator().accept(container, entry);
+                return true;
+            });
+
+            return container;
+        });
+
+        A result = partials.get(0);
+
+        for (int index = 1; index < partials.size(); index++) {
+            result = collector.combiner().apply(result, partials.get(index));
+        }
+
+        return collector.finisher().apply(result);
+    }
+
+    @Override
+    public long longSize() {
+        return this.segments.size();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new SegmentSpliterator<>(this.segments);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), this.parallel);
+    }
+
+    @Override
+    public <A, R> Trove<R> gather(final TroveGatherer<? super T, A, R> gatherer) {
+        Segments<R> output = new Segments<>();
+
+        Gathering.gather(gatherer, this.segments.traversal(), output::add);
+
+        return new SegmentedTrove<>(output, this.parallel);
+    }
+
+    @Override
+    public Trove<T> lazy() {
+        return new LazyTrove<>(this.segments.traversal());
+    }
+
+    @Override
+    public Trove<T> compile() {
+        return CompiledTrove.segmented(this.segments.chunkLists(), this.parallel);
+    }
+
+    @Override
+    public Trove<T> parallel() {
+        if (this.parallel) {
+            return this;
+        }
+
+        return new SegmentedTrove<>(this.segments, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> sortRun(final List<T> run, final Comparator<? super T> comparator) {
+        T[] elements = (T[]) run.toArray();
+
+        if (this.parallel) {
+            Arrays.parallelSort(elements, comparator);
+        } else {
+            Arrays.sort(elements, comparator);
+        }
+
+        return Arrays.asList(elements);
+    }
+
+    /**
+     * Sort runs of the elements small enough for a single list, then merge them. The merge is
+     * stable as long as sorting the runs is, since ties go to the earlier run.
+     */
+    private Segments<T> sortRuns(final UnaryOperator<List<T>> sort, final Comparator<? super T> comparator) {
+        long size = this.segments.size();
+        List<List<T>> runs = new ArrayList<>();
+
+        for (long from = 0; from < size; from += RUN_LENGTH) {
+            runs.add(sort.apply(this.segments.view(from, Math.min(size, from + RUN_LENGTH))));
+        }
+
+        Segments<T> output = new Segments<>();
+
+        if (runs.size() == 1) {
+            output.addAll(runs.get(0));
+            return output;
+        }
+
+        PriorityQueue<Cursor<T>> cursors = new PriorityQueue<>(
+            Math.max(1, runs.size()),
+            Comparator.<Cursor<T>, T>comparing(Cursor::head, comparator).thenComparingInt(cursor -> cursor.run)
+        );
+
+        for (int index = 0; index < runs.size(); index++) {
+            if (!runs.get(index).isEmpty()) {
+                cursors.add(new Cursor<>(runs.get(index), index));
+            }
+        }
+
+        while (!cursors.isEmpty()) {
+            Cursor<T> cursor = cursors.poll();
+            output.add(cursor.head());
+
+            if (++cursor.position < cursor.elements.size()) {
+                cursors.add(cursor);
+            }
+        }
+
+        return output;
+    }
+
+    private T reduce(final long from, final long to, final T identity, final BinaryOperator<T> accumulator) {
+        Holder<T> result = new Holder<>(identity);
+
+        this.segments.traverse(from, to, entry -> {
+            result.value = accumulator.apply(result.value, entry);
+            return true;
+        });
+
+        return result.value;
+    }
+
+    private Optional<T> search(final ChunkSearch search, final Predicate<T> predicate) {
+        // ranges start at distinct offsets in encounter order, so the offset doubles as the chunk key
+        return search.select(this.ranges((from, to) -> search.scan(
+            from,
+            to - from,
+            index -> this.segments.get(from + index),
+            predicate
+        )));
+    }
+
+    private void requireIntPositions() {
+        // positions are ints, so they are only available while every position fits in one
+        Math.toIntExact(this.segments.size());
+    }
+
+    private <R> Trove<R> indexedTransform(final IndexedStage<T, R> stage) {
+        this.requireIntPositions();
+
+        return this.transform(stage);
+    }
+
+    private <R> Trove<R> transform(final Function<Segments<R>, TroveGatherer.Downstream<T>> stage) {
+        return this.transform(($, output) -> stage.apply(output));
+    }
+
+    private <R> Trove<R> transform(final IndexedStage<T, R> stage) {
+        List<Segments<R>> partials = this.ranges((from, to) -> {
+            Segments<R> output = new Segments<>();
+            this.segments.traverse(from, to, stage.apply((int) from, output));
+            return output;
+        });
+
+        Segments<R> output = partials.get(0);
+
+        // every partial is dropped once appended, so its whole chunks are adopted as they are
+        for (int index = 1; index < partials.size(); index++) {
+            output.addAll(partials.get(index));
+        }
+
+        return new SegmentedTrove<>(output, this.parallel);
+    }
+
+    private <R> List<R> ranges(final RangeTask<R> task) {
+        long size = this.segments.size();
+        int chunks = this.segments.chunkCount();
+        int count = this.parallel ? Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, chunks) : 1;
+
+        if (count <= 1) {
+            return Collections.singletonList(task.run(0, size));
+        }
+
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+            long from = ((long) chunks * index / count) << Segments.CHUNK_SHIFT;
+            long to = index == count - 1 ? size : ((long) chunks * (index + 1) / count) << Segments.CHUNK_SHIFT;
+
+            tasks.add(ForkJoinTask.adapt(() -> task.run(from, to)));
+        }
+
+        List<R> results = new ArrayList<>(count);
+
+        for (ForkJoinTask<R> forked : ForkJoinTask.invokeAll(tasks)) {
+            results.add(forked.join());
+        }
+
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface RangeTask<R> {
+
+        R run(long from, long to);
+
+    }
+
+    @FunctionalInterface
+    private interface IndexedStage<T, R> {
+
+        TroveGatherer.Downstream<T> apply(int offset, Segments<R> output);
+
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<T> elements;
+        private final int run;
+        private int position;
+
+        private Cursor(final List<T> elements, final int run) {
+            this.elements = elements;
+            this.run = run;
+        }
+
+        private T head() {
+            return this.elements.get(this.position);
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class SegmentedTroveBuilder<T> implements TroveBuilder<T> {
+
+    private Segments<T> segments = new Segments<>();
+
+    @Override
+    public TroveBuilder<T> add(final T element) {
+        this.segments.add(element);
+        return this;
+    }
+
+    @Override
+    public long longSize() {
+        return this.segments.size();
+    }
+
+    @Override
+    public Trove<T> build() {
+        Trove<T> result = new SegmentedTrove<>(this.segments, false);
+        // the built trove owns the chunks, later appends must not write into them
+        this.segments = new Segments<>();
+
+        return result;
+    }
+
+}
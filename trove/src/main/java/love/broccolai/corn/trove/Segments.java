@@ -0,0 +1,228 @@
+package love.broccolai.corn.trove;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Append only storage of fixed size chunks addressed by long indices.
+ *
+ * <p>Growing never copies elements, only the small outer array of chunk references is
+ * reallocated. Chunks are small enough to stay clear of humongous allocations.</p>
+ *
+ * @param <T> the type of elements stored
+ */
+@NullMarked
+final class Segments<T> {
+
+    static final int CHUNK_SHIFT = 14;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private Object[][] chunks = new Object[8][];
+    private int chunkCount;
+    private long size;
+
+    boolean add(final T element) {
+        int offset = (int) (this.size & CHUNK_MASK);
+
+        if (offset == 0) {
+            if (this.chunkCount == this.chunks.length) {
+                this.chunks = Arrays.copyOf(this.chunks, this.chunkCount * 2);
+            }
+
+            this.chunks[this.chunkCount++] = new Object[CHUNK_SIZE];
+        }
+
+        this.chunks[this.chunkCount - 1][offset] = element;
+        this.size++;
+
+        return true;
+    }
+
+    /**
+     * Append a filled chunk without copying it, only valid while the size is a multiple of the chunk size.
+     *
+     * @param chunk Chunk of exactly {@link #CHUNK_SIZE} elements, no longer modified by its owner
+     */
+    void adopt(final Object[] chunk) {
+        if (!this.aligned() || chunk.length != CHUNK_SIZE) {
+            throw new IllegalStateException("only whole chunks can be adopted on a chunk boundary");
+        }
+
+        if (this.chunkCount == this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, this.chunkCount * 2);
+        }
+
+        this.chunks[this.chunkCount++] = chunk;
+        this.size += CHUNK_SIZE;
+    }
+
+    private void append(final Object[] source, final int length) {
+        int copied = 0;
+
+        while (copied < length) {
+            int offset = (int) (this.size & CHUNK_MASK);
+
+            if (offset == 0) {
+                if (this.chunkCount == this.chunks.length) {
+                    this.chunks = Arrays.copyOf(this.chunks, this.chunkCount * 2);
+                }
+
+                this.chunks[this.chunkCount++] = new Object[CHUNK_SIZE];
+            }
+
+            int count = Math.min(length - copied, CHUNK_SIZE - offset);
+            System.arraycopy(source, copied, this.chunks[this.chunkCount - 1], offset, count);
+
+            copied += count;
+            this.size += count;
+        }
+    }
+
+    boolean aligned() {
+        return (this.size & CHUNK_MASK) == 0;
+    }
+
+    /**
+     * Append the elements of other segments, which are no longer modified by their owner.
+     *
+     * <p>Whole chunks are adopted without copying while this ends on a chunk boundary, anything
+     * else is copied a chunk at a time.</p>
+     *
+     * @param other Segments to append
+     */
+    void addAll(final Segments<? extends T> other) {
+        for (int index = 0; index < other.chunkCount; index++) {
+            Object[] chunk = other.chunks[index];
+            int length = (int) Math.min(CHUNK_SIZE, other.size - ((long) index << CHUNK_SHIFT));
+
+            if (length == CHUNK_SIZE && this.aligned()) {
+                this.adopt(chunk);
+            } else {
+                this.append(chunk, length);
+            }
+        }
+    }
+
+    /**
+     * Append the elements of a list, copied a chunk at a time.
+     *
+     * @param elements Elements to append
+     */
+    void addAll(final List<? extends T> elements) {
+        Object[] array = elements.toArray();
+
+        this.append(array, array.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(final long index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + this.size);
+        }
+
+        return (T) this.chunks[(int) (index >>> CHUNK_SHIFT)][(int) (index & CHUNK_MASK)];
+    }
+
+    long size() {
+        return this.size;
+    }
+
+    int chunkCount() {
+        return this.chunkCount;
+    }
+
+    /**
+     * Visit the elements between two indices in order.
+     *
+     * @param from First index to visit
+     * @param to   Index after the last index to visit
+     * @param sink Sink to push elements to
+     * @return false if the sink stopped the traversal early
+     */
+    @SuppressWarnings("unchecked")
+    boolean traverse(final long from, final long to, final TroveGatherer.Downstream<? super T> sink) {
+        long index = from;
+
+        while (index < to) {
+            Object[] chunk = this.chunks[(int) (index >>> CHUNK_SHIFT)];
+            int offset = (int) (index & CHUNK_MASK);
+            int end = (int) Math.min(CHUNK_SIZE, offset + (to - index));
+
+            for (int position = offset; position < end; position++) {
+                if (!sink.push((T) chunk[position])) {
+                    return false;
+                }
+            }
+
+            index += end - offset;
+        }
+
+        return true;
+    }
+
+    Traversal<T> traversal() {
+        return sink -> this.traverse(0, this.size, sink);
+    }
+
+    /**
+     * View every chunk as a list of the elements it holds.
+     *
+     * @return Chunks in order
+     */
+    @SuppressWarnings("unchecked")
+    List<List<T>> chunkLists() {
+        List<List<T>> output = new ArrayList<>(this.chunkCount);
+
+        for (int index = 0; index < this.chunkCount; index++) {
+            int length = (int) Math.min(CHUNK_SIZE, this.size - ((long) index << CHUNK_SHIFT));
+            output.add(Arrays.asList((T[]) this.chunks[index]).subList(0, length));
+        }
+
+        return output;
+    }
+
+    /**
+     * View the elements between two indices as a random access list.
+     *
+     * @param from First index in the view
+     * @param to   Index after the last index in the view
+     * @return List view of the range
+     */
+    List<T> view(final long from, final long to) {
+        return new View<>(this, from, Math.toIntExact(to - from));
+    }
+
+    private static final class View<T> extends AbstractList<T> implements RandomAccess {
+
+        private final Segments<T> segments;
+        private final long from;
+        private final int size;
+
+        private View(final Segments<T> segments, final long from, final int size) {
+            this.segments = segments;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        public T get(final int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + this.size);
+            }
+
+            return this.segments.get(this.from + index);
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+    }
+
+}
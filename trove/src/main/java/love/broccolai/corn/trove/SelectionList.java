@@ -0,0 +1,207 @@
+package love.broccolai.corn.trove;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Read only view of the elements of a base list selected by a filter, stored as indices into
+ * the base instead of copied references.
+ *
+ * <p>Sparse selections keep an {@code int[]} of indices. Dense selections keep a bitmap with
+ * per word rank counts, a single bit per base element, so random access costs a binary search.
+ * Filtering a selection again refines it against the same base, so filter chains never copy
+ * references. A selection retains its whole base list.</p>
+ */
+@NullMarked
+final class SelectionList<T> extends AbstractList<T> implements RandomAccess {
+
+    // a bitmap costs one bit per base element, indices cost 32 bits per selected element
+    private static final int DENSITY_THRESHOLD = Integer.SIZE;
+
+    private final List<T> base;
+    private final int @Nullable [] indices;
+    private final long @Nullable [] words;
+    private final int @Nullable [] ranks;
+    private final int size;
+
+    private SelectionList(
+        final List<T> base,
+        final int @Nullable [] indices,
+        final long @Nullable [] words,
+        final int @Nullable [] ranks,
+        final int size
+    ) {
+        this.base = base;
+        this.indices = indices;
+        this.words = words;
+        this.ranks = ranks;
+        this.size = size;
+    }
+
+    static <T> List<T> select(final List<T> source, final Predicate<? super T> predicate) {
+        return selectIndexed(source, ($, entry) -> predicate.test(entry));
+    }
+
+    /**
+     * Select the elements of a list accepted by a predicate that also receives their position.
+     *
+     * @param source    List to select from, refined against its base if it is a selection
+     * @param predicate Predicate given the position of an element in the source and the element
+     * @param <T>       Type of elements
+     * @return Selected elements, or the base itself if all of them are selected
+     */
+    static <T> List<T> selectIndexed(final List<T> source, final Trove.IndexedPredicate<? super T> predicate) {
+        List<T> base = source instanceof SelectionList<T> selection ? selection.base : source;
+        long[] words = new long[(base.size() + Long.SIZE - 1) / Long.SIZE];
+        int count = 0;
+
+        if (source instanceof SelectionList<T> selection) {
+            int index = -1;
+
+            for (int position = 0; position < selection.size; position++) {
+                index = selection.following(position, index);
+
+                if (predicate.test(position, base.get(index))) {
+                    words[index >>> 6] |= 1L << index;
+                    count++;
+                }
+            }
+        } else {
+            int index = 0;
+
+            for (T entry : base) {
+                if (predicate.test(index, entry)) {
+                    words[index >>> 6] |= 1L << index;
+                    count++;
+                }
+
+                index++;
+            }
+        }
+
+        if (count == base.size()) {
+            return base;
+        }
+
+        if ((long) count * DENSITY_THRESHOLD < base.size()) {
+            int[] indices = new int[count];
+            int position = 0;
+
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+
+                while (bits != 0) {
+                    indices[position++] = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+
+            return new SelectionList<>(base, indices, null, null, count);
+        }
+
+        int[] ranks = new int[words.length];
+        int rank = 0;
+
+        for (int word = 0; word < words.length; word++) {
+            ranks[word] = rank;
+            rank += Long.bitCount(words[word]);
+        }
+
+        return new SelectionList<>(base, null, words, ranks, count);
+    }
+
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + this.size);
+        }
+
+        return this.base.get(this.baseIndex(index));
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int position;
+            private int index = -1;
+
+            @Override
+            public boolean hasNext() {
+                return this.position < SelectionList.this.size;
+            }
+
+            @Override
+            public T next() {
+                if (this.position >= SelectionList.this.size) {
+                    throw new NoSuchElementException();
+                }
+
+                this.index = SelectionList.this.following(this.position++, this.index);
+
+                return SelectionList.this.base.get(this.index);
+            }
+        };
+    }
+
+    private int baseIndex(final int position) {
+        if (this.indices != null) {
+            return this.indices[position];
+        }
+
+        long[] words = this.words;
+        int[] ranks = this.ranks;
+        int low = 0;
+        int high = ranks.length - 1;
+
+        // last word whose rank does not exceed the position holds the selected bit
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if (ranks[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        long bits = words[low];
+
+        for (int skip = position - ranks[low]; skip > 0; skip--) {
+            bits &= bits - 1;
+        }
+
+        return low * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Find the base index of a position while iterating in order, given the previous one.
+     */
+    private int following(final int position, final int previous) {
+        if (this.indices != null) {
+            return this.indices[position];
+        }
+
+        long[] words = this.words;
+        int from = previous + 1;
+        int word = from >>> 6;
+        long bits = words[word] & (-1L << from);
+
+        while (bits == 0) {
+            bits = words[++word];
+        }
+
+        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+}
@@ -0,0 +1,39 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Accumulates elements appended from many threads into a trove ordered by sequence numbers.
+ *
+ * @param <T> the type of elements added
+ */
+@NullMarked
+public interface SequencedTroveBuilder<T> {
+
+    /**
+     * Append an element under a sequence number, without blocking other appending threads.
+     *
+     * @param sequence Position of the element, elements sharing one keep no particular order
+     * @param element  Element to append
+     * @return This builder
+     */
+    SequencedTroveBuilder<T> add(long sequence, T element);
+
+    /**
+     * Get the amount of elements appended since the last build, exact only while no thread is appending.
+     *
+     * @return Amount of elements
+     */
+    long longSize();
+
+    /**
+     * Create a trove of the appended elements ordered by sequence number and reset this builder.
+     *
+     * <p>Every append must happen before this call, for example by joining the appending
+     * threads first.</p>
+     *
+     * @return Trove of the appended elements
+     */
+    Trove<T> build();
+
+}
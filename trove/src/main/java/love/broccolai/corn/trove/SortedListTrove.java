@@ -0,0 +1,160 @@
+package love.broccolai.corn.trove;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Sorted trove over a sorted list, forwarding regular operations to a trove of the same mode.
+ */
+@NullMarked
+final class SortedListTrove<T> extends ForwardingTrove<T> implements SortedTrove<T> {
+
+    private final Supplier<List<T>> elements;
+    private final Comparator<? super T> comparator;
+    private final Mode mode;
+    private final Trove<T> delegate;
+
+    private SortedListTrove(
+        final Supplier<List<T>> elements,
+        final Comparator<? super T> comparator,
+        final Mode mode,
+        final Trove<T> delegate
+    ) {
+        this.elements = elements;
+        this.comparator = comparator;
+        this.mode = mode;
+        this.delegate = delegate;
+    }
+
+    static <T> SortedListTrove<T> eager(final List<T> sorted, final Comparator<? super T> comparator) {
+        return new SortedListTrove<>(() -> sorted, comparator, Mode.EAGER, new ListBackedTrove<>(sorted));
+    }
+
+    static <T> SortedListTrove<T> parallel(final List<T> sorted, final Comparator<? super T> comparator) {
+        return new SortedListTrove<>(() -> sorted, comparator, Mode.PARALLEL, new ParallelTrove<>(sorted));
+    }
+
+    static <T> SortedListTrove<T> lazy(final Supplier<List<T>> sort, final Comparator<? super T> comparator) {
+        // every lookup reads the whole list, so the first use sorts and later ones reuse the result
+        Supplier<List<T>> sorted = new Supplier<>() {
+            private @Nullable List<T> elements;
+
+            @Override
+            public List<T> get() {
+                List<T> elements = this.elements;
+
+                if (elements == null) {
+                    elements = sort.get();
+                    this.elements = elements;
+                }
+
+                return elements;
+            }
+        };
+
+        return new SortedListTrove<>(sorted, comparator, Mode.LAZY, new LazyTrove<>(sink -> Traversal.of(sorted.get()).traverse(sink)));
+    }
+
+    static <T> SortedListTrove<T> backedBy(
+        final Supplier<List<T>> sorted,
+        final Comparator<? super T> comparator,
+        final boolean parallel,
+        final Trove<T> delegate
+    ) {
+        return new SortedListTrove<>(sorted, comparator, parallel ? Mode.PARALLEL : Mode.EAGER, delegate);
+    }
+
+    /**
+     * Keep the lookups of this trove while running regular operations on another trove of the same elements.
+     *
+     * @param delegate Trove of the same sorted elements
+     * @return Sorted trove forwarding to the delegate
+     */
+    SortedListTrove<T> withDelegate(final Trove<T> delegate) {
+        return new SortedListTrove<>(this.elements, this.comparator, this.mode, delegate);
+    }
+
+    @Override
+    Trove<T> delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public Comparator<? super T> comparator() {
+        return this.comparator;
+    }
+
+    @Override
+    public int lowerBound(final T key) {
+        return this.search(this.elements.get(), key, false);
+    }
+
+    @Override
+    public int upperBound(final T key) {
+        return this.search(this.elements.get(), key, true);
+    }
+
+    @Override
+    public Optional<T> floor(final T key) {
+        List<T> sorted = this.elements.get();
+        int index = this.search(sorted, key, true) - 1;
+
+        return index < 0 ? Optional.empty() : Optional.of(sorted.get(index));
+    }
+
+    @Override
+    public Optional<T> ceiling(final T key) {
+        List<T> sorted = this.elements.get();
+        int index = this.search(sorted, key, false);
+
+        return index == sorted.size() ? Optional.empty() : Optional.of(sorted.get(index));
+    }
+
+    @Override
+    public SortedTrove<T> range(final T from, final T to) {
+        Supplier<List<T>> range = () -> {
+            List<T> sorted = this.elements.get();
+            int start = this.search(sorted, from, false);
+
+            return sorted.subList(start, Math.max(start, this.search(sorted, to, false)));
+        };
+
+        return switch (this.mode) {
+            case EAGER -> eager(range.get(), this.comparator);
+            case PARALLEL -> parallel(range.get(), this.comparator);
+            case LAZY -> lazy(range, this.comparator);
+        };
+    }
+
+    /**
+     * Find the first index whose element is above the key, or not below it when not inclusive.
+     */
+    private int search(final List<T> sorted, final T key, final boolean inclusive) {
+        int low = 0;
+        int high = sorted.size();
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = this.comparator.compare(sorted.get(middle), key);
+
+            if (comparison < 0 || inclusive && comparison == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private enum Mode {
+        EAGER,
+        PARALLEL,
+        LAZY
+    }
+
+}
@@ -0,0 +1,66 @@
+package love.broccolai.corn.trove;
+
+import java.util.Comparator;
+import java.util.Optional;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Trove known to be sorted, answering lookups by binary search.
+ *
+ * <p>Lookups take logarithmic time. A sorted lazy trove sorts its source on first use, whether a
+ * lookup or a terminal operation, and keeps the sorted elements for everything after.</p>
+ *
+ * @param <T> the type of elements
+ */
+@NullMarked
+public interface SortedTrove<T> extends Trove<T> {
+
+    /**
+     * Get the comparator the elements are sorted by.
+     *
+     * @return Comparator of the elements
+     */
+    Comparator<? super T> comparator();
+
+    /**
+     * Find the index of the first element not below a key.
+     *
+     * @param key Key to search for
+     * @return Index of the first element comparing equal to or above the key, or the size if none do
+     */
+    int lowerBound(T key);
+
+    /**
+     * Find the index of the first element above a key.
+     *
+     * @param key Key to search for
+     * @return Index of the first element comparing above the key, or the size if none do
+     */
+    int upperBound(T key);
+
+    /**
+     * Find the last element not above a key.
+     *
+     * @param key Key to search for
+     * @return Greatest element comparing equal to or below the key, or empty if none do
+     */
+    Optional<T> floor(T key);
+
+    /**
+     * Find the first element not below a key.
+     *
+     * @param key Key to search for
+     * @return Least element comparing equal to or above the key, or empty if none do
+     */
+    Optional<T> ceiling(T key);
+
+    /**
+     * View the elements from one key up to, but excluding, another without copying them.
+     *
+     * @param from Lowest key to include
+     * @param to   Key after the highest key to include
+     * @return Sorted view of the range
+     */
+    SortedTrove<T> range(T from, T to);
+
+}
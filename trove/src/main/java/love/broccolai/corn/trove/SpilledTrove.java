@@ -0,0 +1,62 @@
+package love.broccolai.corn.trove;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Lazy trove streaming its elements back from temporary files, which are deleted on close
+ * or as soon as reading them fails.
+ */
+@NullMarked
+final class SpilledTrove<T> extends ForwardingTrove<T> implements CloseableTrove<T> {
+
+    private final List<Path> files;
+    private final Trove<T> delegate;
+
+    SpilledTrove(final List<Path> files, final Traversal<T> traversal) {
+        this.files = files;
+        this.delegate = new LazyTrove<>(sink -> {
+            try {
+                return traversal.traverse(sink);
+            } catch (final RuntimeException | Error exception) {
+                this.close();
+                throw exception;
+            }
+        });
+    }
+
+    static void delete(final List<Path> files) {
+        UncheckedIOException failure = null;
+
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException exception) {
+                if (failure == null) {
+                    failure = new UncheckedIOException("failed to delete spilled trove files", exception);
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    Trove<T> delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void close() {
+        delete(this.files);
+    }
+
+}
@@ -0,0 +1,299 @@
+package love.broccolai.corn.trove;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * External sorting and grouping for troves that do not fit in memory.
+ */
+@NullMarked
+final class Spilling {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Spilling() {
+    }
+
+    /**
+     * Sort a trove by spilling sorted runs of at most the memory budget to disk and lazily
+     * merging them back with a k-way merge. Ties resolve by run order, keeping the sort stable.
+     */
+    static <T> CloseableTrove<T> sort(
+        final Trove<T> source,
+        final Comparator<? super T> comparator,
+        final TroveSpill<T> spill
+    ) {
+        List<Path> files = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        List<T> buffer = new ArrayList<>();
+
+        try {
+            source.lazy().forEach(entry -> {
+                buffer.add(entry);
+
+                if (buffer.size() < spill.maxInMemory()) {
+                    return;
+                }
+
+                buffer.sort(comparator);
+                files.add(createFile(spill));
+                write(files.get(files.size() - 1), buffer, spill.codec());
+                counts.add(buffer.size());
+                buffer.clear();
+            });
+        } catch (final RuntimeException | Error exception) {
+            deleteQuietly(files, exception);
+            throw exception;
+        }
+
+        buffer.sort(comparator);
+
+        return new SpilledTrove<>(files, sink -> {
+            List<RunReader<T>> readers = new ArrayList<>();
+
+            try {
+                PriorityQueue<Cursor<T>> queue = new PriorityQueue<>(
+                    Math.max(1, files.size() + 1),
+                    Comparator.<Cursor<T>, T>comparing(cursor -> cursor.head, comparator).thenComparingInt(cursor -> cursor.order)
+                );
+
+                for (int index = 0; index < files.size(); index++) {
+                    RunReader<T> reader = new RunReader<>(files.get(index), counts.get(index), spill.codec());
+                    readers.add(reader);
+                    Cursor.offer(queue, reader, index);
+                }
+
+                // the final run never left memory and holds the latest elements
+                Cursor.offer(queue, buffer.iterator(), files.size());
+
+                while (!queue.isEmpty()) {
+                    Cursor<T> cursor = queue.poll();
+
+                    if (!sink.push(cursor.head)) {
+                        return false;
+                    }
+
+                    Cursor.offer(queue, cursor.iterator, cursor.order);
+                }
+
+                return true;
+            } catch (final IOException exception) {
+                throw new UncheckedIOException(exception);
+            } finally {
+                closeAll(readers);
+            }
+        });
+    }
+
+    /**
+     * Group a trove in memory while it fits the budget, otherwise hash partition its elements
+     * to disk and lazily group one partition at a time.
+     */
+    static <T, K> CloseableTrove<Map.Entry<K, Collection<T>>> group(
+        final Trove<T> source,
+        final Function<T, K> grouper,
+        final TroveSpill<T> spill
+    ) {
+        List<Path> files = new ArrayList<>();
+        List<DataOutputStream> outputs = new ArrayList<>();
+        int[] counts = new int[spill.partitions()];
+        List<T> buffer = new ArrayList<>();
+
+        try {
+            source.lazy().forEach(entry -> {
+                if (outputs.isEmpty() && buffer.size() < spill.maxInMemory()) {
+                    buffer.add(entry);
+                    return;
+                }
+
+                if (outputs.isEmpty()) {
+                    for (int partition = 0; partition < spill.partitions(); partition++) {
+                        files.add(createFile(spill));
+                        outputs.add(open(files.get(partition)));
+                    }
+
+                    for (T buffered : buffer) {
+                        writePartitioned(buffered, grouper, spill, outputs, counts);
+                    }
+
+                    buffer.clear();
+                }
+
+                writePartitioned(entry, grouper, spill, outputs, counts);
+            });
+        } catch (final RuntimeException | Error exception) {
+            try {
+                closeAll(outputs);
+            } catch (final UncheckedIOException suppressed) {
+                exception.addSuppressed(suppressed);
+            }
+
+            deleteQuietly(files, exception);
+            throw exception;
+        }
+
+        try {
+            closeAll(outputs);
+        } catch (final UncheckedIOException exception) {
+            deleteQuietly(files, exception);
+            throw exception;
+        }
+
+        if (files.isEmpty()) {
+            return new SpilledTrove<>(files, sink -> pushGroups(groupAll(buffer.iterator(), grouper), sink));
+        }
+
+        return new SpilledTrove<>(files, sink -> {
+            for (int partition = 0; partition < files.size(); partition++) {
+                Map<K, Collection<T>> groups;
+
+                try (RunReader<T> reader = new RunReader<>(files.get(partition), counts[partition], spill.codec())) {
+                    groups = groupAll(reader, grouper);
+                } catch (final IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+
+                if (!pushGroups(groups, sink)) {
+                    return false;
+                }
+            }
+
+            return true;
+        });
+    }
+
+    private static <T, K> Map<K, Collection<T>> groupAll(final Iterator<T> elements, final Function<T, K> grouper) {
+        Map<K, Collection<T>> groups = new LinkedHashMap<>();
+
+        while (elements.hasNext()) {
+            T entry = elements.next();
+            groups.computeIfAbsent(grouper.apply(entry), $ -> new ArrayList<>()).add(entry);
+        }
+
+        return groups;
+    }
+
+    private static <T, K> boolean pushGroups(
+        final Map<K, Collection<T>> groups,
+        final TroveGatherer.Downstream<? super Map.Entry<K, Collection<T>>> sink
+    ) {
+        for (Map.Entry<K, Collection<T>> group : groups.entrySet()) {
+            if (!sink.push(new AbstractMap.SimpleImmutableEntry<>(group))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static <T, K> void writePartitioned(
+        final T entry,
+        final Function<T, K> grouper,
+        final TroveSpill<T> spill,
+        final List<DataOutputStream> outputs,
+        final int[] counts
+    ) {
+        int hash = Objects.hashCode(grouper.apply(entry));
+        int partition = Math.floorMod(hash ^ (hash >>> 16), outputs.size());
+
+        try {
+            spill.codec().write(outputs.get(partition), entry);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        counts[partition]++;
+    }
+
+    private static Path createFile(final TroveSpill<?> spill) {
+        try {
+            return Files.createTempFile(spill.directory(), "trove-", ".spill");
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static DataOutputStream open(final Path file) {
+        try {
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static <T> void write(final Path file, final List<T> elements, final TroveCodec<T> codec) {
+        try (DataOutputStream output = open(file)) {
+            for (T entry : elements) {
+                codec.write(output, entry);
+            }
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void closeAll(final List<? extends Closeable> closeables) {
+        UncheckedIOException failure = null;
+
+        for (Closeable closeable : closeables) {
+            try {
+                closeable.close();
+            } catch (final IOException exception) {
+                if (failure == null) {
+                    failure = new UncheckedIOException(exception);
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void deleteQuietly(final List<Path> files, final Throwable cause) {
+        try {
+            SpilledTrove.delete(files);
+        } catch (final UncheckedIOException exception) {
+            cause.addSuppressed(exception);
+        }
+    }
+
+    private static final class Cursor<T> {
+
+        private final Iterator<T> iterator;
+        private final int order;
+        private final T head;
+
+        private Cursor(final Iterator<T> iterator, final int order, final T head) {
+            this.iterator = iterator;
+            this.order = order;
+            this.head = head;
+        }
+
+        private static <T> void offer(final PriorityQueue<Cursor<T>> queue, final Iterator<T> iterator, final int order) {
+            if (iterator.hasNext()) {
+                queue.add(new Cursor<>(iterator, order, iterator.next()));
+            }
+        }
+
+    }
+
+}
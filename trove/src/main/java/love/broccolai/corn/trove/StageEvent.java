@@ -0,0 +1,61 @@
+package love.broccolai.corn.trove;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Flight recorder event emitted for every profiled trove operation, spanning the operation
+ * itself.
+ *
+ * <p>Only {@link StageRecorder} refers to this class, and only once the {@code jdk.jfr} module
+ * is resolved. Element counts are those seen when the operation returned, so stages of lazy
+ * troves report what their terminal runs had pushed through by then.</p>
+ */
+@NullMarked
+@Name("love.broccolai.corn.trove.Stage")
+@Label("Trove Stage")
+@Category({"Corn", "Trove"})
+@Description("A single profiled trove operation")
+final class StageEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Elements In")
+    long elementsIn;
+
+    @Label("Elements Out")
+    long elementsOut;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the calling thread, -1 when not supported")
+    @DataAmount
+    long allocatedBytes;
+
+    StageEvent(final String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * End the event and commit it with the measurements of its operation, unless no recording
+     * is interested in it.
+     *
+     * @param stage Measurements of the operation
+     */
+    void finish(final TroveProfile.Stage stage) {
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.elementsIn = stage.elementsIn();
+            this.elementsOut = stage.elementsOut();
+            this.allocatedBytes = stage.allocatedBytes();
+            this.commit();
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package love.broccolai.corn.trove;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Live measurements of a single profiled operation.
+ *
+ * <p>Element counters keep counting after the operation returns, so stages of lazy troves
+ * reflect every terminal run performed so far. Each operation also emits a {@link StageEvent}
+ * whenever a flight recording is interested in it.</p>
+ */
+@NullMarked
+final class StageRecorder {
+
+    // checked once, the event class is never loaded unless the module is there
+    private static final boolean EVENTS = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private final String name;
+    private final LongAdder in = new LongAdder();
+    private final LongAdder out = new LongAdder();
+    private final long startBytes;
+    private final long startNanos;
+    private final @Nullable StageEvent event;
+    private long wallNanos;
+    private long allocatedBytes;
+
+    StageRecorder(final String name) {
+        this.name = name;
+        this.event = EVENTS ? new StageEvent(name) : null;
+
+        if (this.event != null) {
+            this.event.begin();
+        }
+
+        this.startBytes = ThreadAllocations.currentThread();
+        this.startNanos = System.nanoTime();
+    }
+
+    void in() {
+        this.in.increment();
+    }
+
+    void out() {
+        this.out.increment();
+    }
+
+    void out(final long amount) {
+        this.out.add(amount);
+    }
+
+    void finish(final TroveProfile profile) {
+        this.wallNanos = System.nanoTime() - this.startNanos;
+        this.allocatedBytes = this.startBytes < 0 ? -1 : ThreadAllocations.currentThread() - this.startBytes;
+
+        if (this.event != null) {
+            this.event.finish(this.snapshot());
+        }
+
+        profile.record(this);
+    }
+
+    TroveProfile.Stage snapshot() {
+        return new TroveProfile.Stage(this.name, this.in.sum(), this.out.sum(), this.wallNanos, this.allocatedBytes);
+    }
+
+}
@@ -0,0 +1,57 @@
+package love.broccolai.corn.trove;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+@NullMarked
+final class ThreadAllocations {
+
+    // resolved reflectively as the extended bean lives outside java.*
+    private static final @Nullable MethodHandle CURRENT_THREAD_ALLOCATED_BYTES = resolve();
+
+    private ThreadAllocations() {
+    }
+
+    static long currentThread() {
+        if (CURRENT_THREAD_ALLOCATED_BYTES == null) {
+            return -1;
+        }
+
+        try {
+            return (long) CURRENT_THREAD_ALLOCATED_BYTES.invoke();
+        } catch (final Throwable throwable) {
+            return -1;
+        }
+    }
+
+    private static @Nullable MethodHandle resolve() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            Class<?> extended = Class.forName("com.sun.management.ThreadMXBean");
+
+            if (!extended.isInstance(bean)) {
+                return null;
+            }
+
+            boolean supported = (boolean) MethodHandles.publicLookup()
+                .findVirtual(extended, "isThreadAllocatedMemoryEnabled", MethodType.methodType(boolean.class))
+                .invoke(bean);
+
+            if (!supported) {
+                return null;
+            }
+
+            return MethodHandles.publicLookup()
+                .findVirtual(extended, "getCurrentThreadAllocatedBytes", MethodType.methodType(long.class))
+                .bindTo(bean);
+        } catch (final Throwable throwable) {
+            return null;
+        }
+    }
+
+}
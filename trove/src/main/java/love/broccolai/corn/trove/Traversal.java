@@ -0,0 +1,34 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Push based iteration of a trove's elements, used to fuse lazy pipelines.
+ *
+ * @param <T> the type of elements pushed
+ */
+@NullMarked
+@FunctionalInterface
+interface Traversal<T> {
+
+    static <T> Traversal<T> of(final Iterable<T> source) {
+        return sink -> {
+            for (T entry : source) {
+                if (!sink.push(entry)) {
+                    return false;
+                }
+            }
+
+            return true;
+        };
+    }
+
+    /**
+     * Push elements to the sink until it rejects one or the source is exhausted.
+     *
+     * @param sink Sink to push elements to
+     * @return false if the sink stopped the traversal early
+     */
+    boolean traverse(TroveGatherer.Downstream<? super T> sink);
+
+}
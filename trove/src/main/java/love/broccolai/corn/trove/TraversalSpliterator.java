@@ -0,0 +1,85 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Spliterator running a lazy pipeline straight into the consumer on bulk traversal.
+ *
+ * <p>Single element advancing cannot pause a push based traversal, so the first call to
+ * {@link #tryAdvance(Consumer)} runs the pipeline once into a buffer and continues from it.</p>
+ */
+@NullMarked
+final class TraversalSpliterator<T> implements Spliterator<T> {
+
+    private final Traversal<T> traversal;
+    private @Nullable List<T> buffer;
+    private int position;
+    private boolean consumed;
+
+    TraversalSpliterator(final Traversal<T> traversal) {
+        this.traversal = traversal;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (this.buffer == null) {
+            if (this.consumed) {
+                return false;
+            }
+
+            List<T> buffer = new ArrayList<>();
+            this.traversal.traverse(buffer::add);
+            this.buffer = buffer;
+            this.consumed = true;
+        }
+
+        if (this.position >= this.buffer.size()) {
+            return false;
+        }
+
+        action.accept(this.buffer.get(this.position++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        if (this.buffer != null) {
+            while (this.position < this.buffer.size()) {
+                action.accept(this.buffer.get(this.position++));
+            }
+
+            return;
+        }
+
+        if (this.consumed) {
+            return;
+        }
+
+        this.consumed = true;
+        this.traversal.traverse(entry -> {
+            action.accept(entry);
+            return true;
+        });
+    }
+
+    @Override
+    public @Nullable Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+}
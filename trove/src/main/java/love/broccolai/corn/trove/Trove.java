@@ -2,16 +2,30 @@ package love.broccolai.corn.trove;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
@@ -21,6 +35,144 @@ public interface Trove<T> {
         return new ListBackedTrove<>(new ArrayList<>(collection));
     }
 
+    /**
+     * Create a lazy pipeline over the pairs of a map without copying its entries.
+     *
+     * <p>Pairs are read through {@link Map#forEach(BiConsumer)}, so no entry objects are
+     * created or copied until the pipeline is converted into a regular trove.</p>
+     *
+     * @param map Map to read pairs from
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @return BiTrove over the map
+     */
+    static <K, V> BiTrove<K, V> ofEntries(final Map<K, V> map) {
+        return new LazyBiTrove<>(sink -> map.forEach(sink::accept));
+    }
+
+    /**
+     * Create a trove whose elements are computed from their index when accessed.
+     *
+     * <p>Nothing is stored up front and indices are never boxed. The generator may be called
+     * again for an index each time an operation reads it, so it should be free of side effects.
+     * Parallel troves split the index range into exact contiguous chunks.</p>
+     *
+     * @param size      Amount of elements
+     * @param generator Function computing the element at an index
+     * @param <T>       the type of elements generated
+     * @return Trove of generated elements
+     */
+    static <T> Trove<T> generate(final int size, final IntFunction<? extends T> generator) {
+        return new ListBackedTrove<>(new GeneratedList<>(size, generator));
+    }
+
+    /**
+     * Create a trove of every cell in a two dimensional grid, computed on demand.
+     *
+     * <p>Cells are ordered with x varying slowest.</p>
+     *
+     * @param xRange Range of x coordinates
+     * @param zRange Range of z coordinates
+     * @param mapper Function computing the element of a cell
+     * @param <T>    the type of elements generated
+     * @return Trove of grid cells
+     */
+    static <T> Trove<T> grid(final IntRange xRange, final IntRange zRange, final GridMapper<? extends T> mapper) {
+        int fromX = xRange.from();
+        int fromZ = zRange.from();
+        int depth = zRange.size();
+
+        return generate(cells(xRange.size(), depth), index -> mapper.apply(fromX + index / depth, fromZ + index % depth));
+    }
+
+    /**
+     * Create a trove of every cell in a three dimensional grid, computed on demand.
+     *
+     * <p>Cells are ordered with x varying slowest and z fastest.</p>
+     *
+     * @param xRange Range of x coordinates
+     * @param yRange Range of y coordinates
+     * @param zRange Range of z coordinates
+     * @param mapper Function computing the element of a cell
+     * @param <T>    the type of elements generated
+     * @return Trove of grid cells
+     */
+    static <T> Trove<T> grid(
+        final IntRange xRange,
+        final IntRange yRange,
+        final IntRange zRange,
+        final VolumeMapper<? extends T> mapper
+    ) {
+        int fromX = xRange.from();
+        int fromY = yRange.from();
+        int fromZ = zRange.from();
+        int depth = zRange.size();
+        int layer = cells(yRange.size(), depth);
+
+        return generate(cells(xRange.size(), layer), index -> {
+            int within = index % layer;
+
+            return mapper.apply(fromX + index / layer, fromY + within / depth, fromZ + within % depth);
+        });
+    }
+
+    private static int cells(final int width, final int depth) {
+        long cells = (long) width * depth;
+
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("grid must hold at most Integer.MAX_VALUE cells, got " + cells);
+        }
+
+        return (int) cells;
+    }
+
+    /**
+     * Create a lazy trove fed by a publisher, requesting elements in batches of 256.
+     *
+     * @param publisher Publisher to subscribe to
+     * @param <T>       the type of elements published
+     * @return Lazy trove of published elements
+     * @see #fromPublisher(Flow.Publisher, int)
+     */
+    static <T> Trove<T> fromPublisher(final Flow.Publisher<? extends T> publisher) {
+        return fromPublisher(publisher, 256);
+    }
+
+    /**
+     * Create a lazy trove fed by a publisher.
+     *
+     * <p>Every terminal operation subscribes again and blocks until the publisher completes.
+     * Elements are requested a batch at a time and the pipeline runs over each delivered
+     * batch before more are requested, so no more than one batch is ever buffered.</p>
+     *
+     * @param publisher Publisher to subscribe to
+     * @param batchSize Amount of elements to request at once
+     * @param <T>       the type of elements published
+     * @return Lazy trove of published elements
+     */
+    static <T> Trove<T> fromPublisher(final Flow.Publisher<? extends T> publisher, final int batchSize) {
+        return new LazyTrove<>(new PublisherTraversal<>(publisher, batchSize));
+    }
+
+    /**
+     * Mark a predicate as free of side effects.
+     *
+     * <p>Lazy troves evaluate consecutive pure filters as one stage and reorder them by
+     * measured cost and selectivity. Results are unaffected, only the order in which pure
+     * predicates are tested changes.</p>
+     *
+     * @param predicate Side effect free predicate
+     * @param <T>       the type of elements tested
+     * @return Pure predicate
+     */
+    static <T> Predicate<T> pure(final Predicate<T> predicate) {
+        if (predicate instanceof PurePredicate<T>) {
+            return predicate;
+        }
+
+        return new PurePredicate<>(predicate);
+    }
+
     <R> Trove<R> map(Function<T, R> mapper);
 
     <R> Trove<R> mapIfPresent(Function<T, Optional<R>> mapper);
@@ -31,10 +183,197 @@ public interface Trove<T> {
 
     <R> Map<R, Collection<T>> group(Function<T, R> grouper);
 
+    /**
+     * Group the elements by an enum constant, using array buckets indexed by ordinal instead of hashing.
+     *
+     * @param type       Class of the enum
+     * @param classifier Function computing the constant of an element
+     * @param <E>        the type of the enum
+     * @return Enum map of every constant with at least one element to its elements, in encounter order
+     */
+    default <E extends Enum<E>> EnumMap<E, Collection<T>> groupByEnum(final Class<E> type, final Function<T, E> classifier) {
+        E[] constants = type.getEnumConstants();
+        List<T>[] buckets = this.collect(Bucketing.collector(constants.length, element -> classifier.apply(element).ordinal()));
+        EnumMap<E, Collection<T>> result = new EnumMap<>(type);
+
+        for (int ordinal = 0; ordinal < constants.length; ordinal++) {
+            if (buckets[ordinal] != null) {
+                result.put(constants[ordinal], buckets[ordinal]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Group the elements by a small non negative int, using array buckets instead of hashing.
+     *
+     * @param buckets Amount of buckets, every index must be below it
+     * @param index   Function computing the bucket of an element
+     * @return Trove of the elements in each bucket, empty for unused buckets
+     */
+    default List<Trove<T>> groupByIndex(final int buckets, final ToIntFunction<T> index) {
+        List<T>[] grouped = this.collect(Bucketing.collector(buckets, index));
+        List<Trove<T>> result = new ArrayList<>(buckets);
+
+        for (List<T> bucket : grouped) {
+            result.add(new ListBackedTrove<>(bucket == null ? new ArrayList<>() : bucket));
+        }
+
+        return result;
+    }
+
+    /**
+     * Group the elements within a memory budget, hash partitioning them to temporary files
+     * once the budget is exceeded.
+     *
+     * <p>The source is consumed immediately. The returned trove lazily groups one partition at
+     * a time on every terminal operation, so each partition must fit in memory, and deletes
+     * its files when closed, or when reading them fails.</p>
+     *
+     * @param grouper Function computing the group of an element
+     * @param spill   Memory budget and codec for spilled elements
+     * @param <R>     the type of group keys
+     * @return Closeable trove of groups
+     */
+    default <R> CloseableTrove<Map.Entry<R, Collection<T>>> group(final Function<T, R> grouper, final TroveSpill<T> spill) {
+        return Spilling.group(this, grouper, spill);
+    }
+
     Trove<T> filter(Predicate<T> predicate);
 
     <I> Trove<I> filterIsInstance(Class<I> type);
 
+    /**
+     * Map every element together with its position in this trove.
+     *
+     * <p>Positions are passed as primitive ints, so no index is boxed. Parallel troves hand
+     * every chunk its starting offset, so positions match sequential encounter order.</p>
+     *
+     * @param mapper Function to apply to positions and elements
+     * @param <R>    the type of mapped elements
+     * @return Trove of mapped elements
+     */
+    <R> Trove<R> mapIndexed(IndexedFunction<? super T, ? extends R> mapper);
+
+    /**
+     * Keep only elements matching a predicate that also sees their position in this trove.
+     *
+     * @param predicate Predicate to test positions and elements with
+     * @return Trove of matching elements
+     */
+    Trove<T> filterIndexed(IndexedPredicate<? super T> predicate);
+
+    /**
+     * Drop elements whose key was already seen, remembering keys in a bloom filter instead of
+     * a hash set.
+     *
+     * <p>Memory stays fixed no matter how many elements pass, but a false positive drops an
+     * element whose key was never seen, at roughly the given probability once the expected
+     * amount of keys passed. Every run starts with an empty filter and runs sequentially.</p>
+     *
+     * @param key                Function computing a well distributed 64 bit key of an element
+     * @param expectedInsertions Amount of distinct keys the filter is sized for
+     * @param fpp                False positive probability once that many keys passed
+     * @return Trove of the first element of every key
+     */
+    default Trove<T> approxDistinct(final ToLongFunction<? super T> key, final long expectedInsertions, final double fpp) {
+        BlockedBloomFilter.Shape shape = BlockedBloomFilter.shape(expectedInsertions, fpp);
+
+        return this.gather(TroveGatherer.<T, BlockedBloomFilter, T>of(
+            () -> new BlockedBloomFilter(shape),
+            (filter, element, downstream) -> !filter.put(key.applyAsLong(element)) || downstream.push(element),
+            (filter, downstream) -> {}
+        ));
+    }
+
+    /**
+     * Sort the elements, keeping the encounter order of equal elements.
+     *
+     * @param comparator Comparator to order elements with
+     * @return Sorted trove remembering the comparator
+     */
+    SortedTrove<T> sorted(Comparator<? super T> comparator);
+
+    /**
+     * Merge the elements with another trove's into one sorted trove.
+     *
+     * <p>When both troves are already sorted by an equal comparator they are merged in linear
+     * time, otherwise the combined elements are sorted. Equal elements from this trove come
+     * first.</p>
+     *
+     * @param other      Trove to merge with
+     * @param comparator Comparator to order elements with
+     * @return Sorted trove of both troves' elements
+     */
+    default SortedTrove<T> merge(final Trove<T> other, final Comparator<? super T> comparator) {
+        return Joining.merge(this, other, comparator);
+    }
+
+    /**
+     * Pair every element with each element of another trove sharing its key.
+     *
+     * <p>When this trove is sorted by the left key and the other by the right key, with equal
+     * orders, the troves are merge joined in linear time. Otherwise the other trove is hashed
+     * by key. Pairs are produced in this trove's order, then the other's.</p>
+     *
+     * @param other    Trove to join with
+     * @param leftKey  Key of this trove's elements
+     * @param rightKey Key of the other trove's elements
+     * @param combiner Function combining a matching pair
+     * @param <U>      the type of the other trove's elements
+     * @param <K>      the type of keys
+     * @param <R>      the type of combined elements
+     * @return Trove of combined pairs
+     */
+    default <U, K, R> Trove<R> join(
+        final Trove<U> other,
+        final TroveKey<T, K> leftKey,
+        final TroveKey<U, K> rightKey,
+        final BiFunction<? super T, ? super U, ? extends R> combiner
+    ) {
+        return Joining.join(this, other, leftKey, rightKey, combiner);
+    }
+
+    /**
+     * Sort the elements within a memory budget, spilling sorted runs to temporary files.
+     *
+     * <p>The source is consumed immediately. The returned trove lazily merges the runs on
+     * every terminal operation and deletes its files when closed, or when reading them fails.
+     * The sort is stable.</p>
+     *
+     * @param comparator Comparator to order elements with
+     * @param spill      Memory budget and codec for spilled elements
+     * @return Closeable sorted trove
+     */
+    default CloseableTrove<T> sorted(final Comparator<? super T> comparator, final TroveSpill<T> spill) {
+        return Spilling.sort(this, comparator, spill);
+    }
+
+    /**
+     * Sort the elements by an int key with a radix sort, keeping the encounter order of equal keys.
+     *
+     * <p>Each key is extracted once into a primitive array, so keys are never boxed or compared
+     * through a comparator.</p>
+     *
+     * @param key Function extracting the sort key
+     * @return Sorted trove
+     */
+    default Trove<T> sortedByInt(final ToIntFunction<? super T> key) {
+        return new ListBackedTrove<>(RadixSort.sortByInt(this.toList(), key));
+    }
+
+    /**
+     * Sort the elements by a long key with a radix sort, keeping the encounter order of equal keys.
+     *
+     * @param key Function extracting the sort key
+     * @return Sorted trove
+     * @see #sortedByInt(ToIntFunction)
+     */
+    default Trove<T> sortedByLong(final ToLongFunction<? super T> key) {
+        return new ListBackedTrove<>(RadixSort.sortByLong(this.toList(), key));
+    }
+
     T average(T identity, BinaryOperator<T> accumulator, BiFunction<T, Integer, T> divider);
 
     default Optional<T> first() {
@@ -49,12 +388,356 @@ public interface Trove<T> {
 
     Optional<T> last(Predicate<T> predicate);
 
+    /**
+     * Find any element matching a predicate, not necessarily the first.
+     *
+     * <p>Parallel troves return whichever match is found first and stop every other chunk.</p>
+     *
+     * @param predicate Predicate to test elements with
+     * @return Any matching element, or empty if none match
+     */
+    default Optional<T> findAny(final Predicate<T> predicate) {
+        return this.first(predicate);
+    }
+
+    /**
+     * Find any element.
+     *
+     * @return Any element, or empty if the trove is empty
+     */
+    default Optional<T> findAny() {
+        return this.findAny(Predicates.alwaysTrue());
+    }
+
+    /**
+     * Check whether any element matches a predicate, stopping at the first match found.
+     *
+     * @param predicate Predicate to test elements with
+     * @return true if at least one element matches
+     */
+    default boolean anyMatch(final Predicate<T> predicate) {
+        return this.findAny(predicate).isPresent();
+    }
+
+    /**
+     * Check whether every element matches a predicate, stopping at the first mismatch found.
+     *
+     * @param predicate Predicate to test elements with
+     * @return true if no element fails the predicate
+     */
+    default boolean allMatch(final Predicate<T> predicate) {
+        return this.findAny(predicate.negate()).isEmpty();
+    }
+
+    /**
+     * Check whether no element matches a predicate, stopping at the first match found.
+     *
+     * @param predicate Predicate to test elements with
+     * @return true if no element matches
+     */
+    default boolean noneMatch(final Predicate<T> predicate) {
+        return this.findAny(predicate).isEmpty();
+    }
+
     void forEach(Consumer<T> consumer);
 
+    /**
+     * Pass every element to a consumer together with its position in this trove.
+     *
+     * <p>Like {@link #forEach(Consumer)}, parallel troves may call the consumer concurrently and
+     * out of order, but every position still matches sequential encounter order.</p>
+     *
+     * @param consumer Consumer to accept positions and elements
+     */
+    void forEachIndexed(IndexedConsumer<? super T> consumer);
+
+    /**
+     * Pass the elements to a consumer in batches, in encounter order even when parallel.
+     *
+     * <p>Every batch is a read only view of one reused buffer, which is cleared once the
+     * consumer returns. Consumers that keep a batch must copy it.</p>
+     *
+     * @param size     Maximum amount of elements in a batch
+     * @param consumer Consumer to accept batches
+     */
+    default void forEachBatch(final int size, final Consumer<? super List<T>> consumer) {
+        Batching.forEach(this.spliterator(), size, consumer);
+    }
+
+    /**
+     * Pass the elements to an asynchronous sink in batches, in encounter order even when
+     * parallel.
+     *
+     * <p>Elements are traversed on the calling thread, which blocks while the maximum amount of
+     * batches is in flight until the oldest one completes. The buffer of a batch is reused once
+     * its stage completed. Once a failed batch is noticed, no later batch is submitted. The
+     * returned future then waits for every batch already in flight and completes with the
+     * failure of the earliest failed batch.</p>
+     *
+     * @param size        Maximum amount of elements in a batch
+     * @param sink        Function starting the processing of a batch
+     * @param maxInFlight Maximum amount of batches processed at once
+     * @return Future completing once every batch completed
+     */
+    default CompletableFuture<Void> forEachBatchAsync(
+        final int size,
+        final Function<? super List<T>, ? extends CompletionStage<?>> sink,
+        final int maxInFlight
+    ) {
+        return Batching.forEachAsync(this.spliterator(), size, sink, maxInFlight);
+    }
+
     default List<T> toList() {
         return this.collect(Collectors.toList());
     }
 
     <R, A> R collect(Collector<? super T, A, R> collector);
 
+    /**
+     * Count the elements, which may exceed {@link Integer#MAX_VALUE} for builder backed troves.
+     *
+     * @return Amount of elements
+     */
+    default long longSize() {
+        return this.collect(Collectors.counting());
+    }
+
+    /**
+     * Create a spliterator over the elements without copying them where possible.
+     *
+     * @return Spliterator of the elements
+     */
+    default Spliterator<T> spliterator() {
+        return this.toList().spliterator();
+    }
+
+    /**
+     * Create a stream over the elements, parallel if this trove is parallel.
+     *
+     * @return Stream of the elements
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Map every element into a primitive int trove.
+     *
+     * @param mapper Function extracting an int from each element
+     * @return Trove of extracted values
+     */
+    default IntTrove mapToInt(final ToIntFunction<T> mapper) {
+        List<T> elements = this.toList();
+        int[] values = new int[elements.size()];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = mapper.applyAsInt(elements.get(index));
+        }
+
+        return new ArrayIntTrove(values);
+    }
+
+    /**
+     * Map every element into a primitive double trove.
+     *
+     * @param mapper Function extracting a double from each element
+     * @return Trove of extracted values
+     */
+    default DoubleTrove mapToDouble(final ToDoubleFunction<T> mapper) {
+        List<T> elements = this.toList();
+        double[] values = new double[elements.size()];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = mapper.applyAsDouble(elements.get(index));
+        }
+
+        return new ArrayDoubleTrove(values);
+    }
+
+    /**
+     * Run a custom, possibly stateful, stage over every element.
+     *
+     * @param gatherer Gatherer defining the stage
+     * @param <A>      the type of the gatherer's state
+     * @param <R>      the type of elements produced
+     * @return Trove of gathered elements
+     */
+    <A, R> Trove<R> gather(TroveGatherer<? super T, A, R> gatherer);
+
+    /**
+     * Create a view of this trove that defers intermediate operations until a terminal
+     * operation runs, fusing them into a single pass without intermediate collections.
+     *
+     * <p>Every terminal operation re-runs the whole pipeline.</p>
+     *
+     * @return Lazy view of this trove
+     */
+    Trove<T> lazy();
+
+    /**
+     * Create a view of this trove whose map and filter stages are compiled into one specialized
+     * loop per pipeline.
+     *
+     * <p>Generic troves run every stage through call sites shared by all pipelines, which the
+     * JIT stops inlining once it has seen many different lambdas. A compiled pipeline gets a
+     * hidden class of its own running its stages as constants, so reduce, first, forEach and
+     * collect run as monomorphic loops. A lazy trove hands over the map and filter stages it
+     * recorded, and parallel or segmented troves stay parallel or segmented. Other operations
+     * run on a trove of the same kind fed by the compiled stages. Troves without a source to
+     * compile over are materialized first.</p>
+     *
+     * <p>Compiling costs far more than a single run, only the shape of a pipeline is shared
+     * between compilations, so compiled troves are meant to be built once and run many
+     * times.</p>
+     *
+     * @return Compiled view of this trove
+     */
+    default Trove<T> compile() {
+        return CompiledTrove.of(this.toList());
+    }
+
+    /**
+     * Create a view of this trove that splits operations into chunks run on the common
+     * fork join pool.
+     *
+     * <p>Results keep encounter order, except for {@link #forEach(Consumer)}. Functions must
+     * be safe to call concurrently, and reduction accumulators must be associative with a
+     * true identity.</p>
+     *
+     * @return Parallel view of this trove
+     */
+    Trove<T> parallel();
+
+    /**
+     * Publish the elements of this trove, running the pipeline on a virtual thread per
+     * subscriber.
+     *
+     * @return Publisher of this trove's elements
+     * @see #toPublisher(Executor)
+     */
+    default Flow.Publisher<T> toPublisher() {
+        return this.toPublisher(Thread::startVirtualThread);
+    }
+
+    /**
+     * Publish the elements of this trove.
+     *
+     * <p>Every subscriber runs the pipeline sequentially on the executor. The pipeline pauses
+     * while the subscriber has no outstanding demand and stops when it cancels.</p>
+     *
+     * @param executor Executor to run the pipeline on
+     * @return Publisher of this trove's elements
+     */
+    default Flow.Publisher<T> toPublisher(final Executor executor) {
+        return new TrovePublisher<>(this, executor);
+    }
+
+    /**
+     * Create a view of this trove that records every following operation into a profile.
+     *
+     * <p>Profiling is opt-in, troves that are never profiled run without any measurement.</p>
+     *
+     * @param profile Profile to record stages into
+     * @return Profiled view of this trove
+     */
+    default Trove<T> profile(final TroveProfile profile) {
+        return new ProfilingTrove<>(this, profile);
+    }
+
+    /**
+     * Computes the element of a two dimensional grid cell.
+     *
+     * @param <T> the type of elements computed
+     */
+    @FunctionalInterface
+    interface GridMapper<T> {
+
+        /**
+         * Compute the element of a cell.
+         *
+         * @param x X coordinate
+         * @param z Z coordinate
+         * @return Element of the cell
+         */
+        T apply(int x, int z);
+
+    }
+
+    /**
+     * Computes the element of a three dimensional grid cell.
+     *
+     * @param <T> the type of elements computed
+     */
+    @FunctionalInterface
+    interface VolumeMapper<T> {
+
+        /**
+         * Compute the element of a cell.
+         *
+         * @param x X coordinate
+         * @param y Y coordinate
+         * @param z Z coordinate
+         * @return Element of the cell
+         */
+        T apply(int x, int y, int z);
+
+    }
+
+    /**
+     * Computes a value from an element and its position.
+     *
+     * @param <T> the type of elements accepted
+     * @param <R> the type of values computed
+     */
+    @FunctionalInterface
+    interface IndexedFunction<T, R> {
+
+        /**
+         * Compute the value of an element.
+         *
+         * @param index   Position of the element
+         * @param element Element to compute from
+         * @return Computed value
+         */
+        R apply(int index, T element);
+
+    }
+
+    /**
+     * Tests an element and its position.
+     *
+     * @param <T> the type of elements tested
+     */
+    @FunctionalInterface
+    interface IndexedPredicate<T> {
+
+        /**
+         * Test an element.
+         *
+         * @param index   Position of the element
+         * @param element Element to test
+         * @return true if the element matches
+         */
+        boolean test(int index, T element);
+
+    }
+
+    /**
+     * Accepts an element and its position.
+     *
+     * @param <T> the type of elements accepted
+     */
+    @FunctionalInterface
+    interface IndexedConsumer<T> {
+
+        /**
+         * Accept an element.
+         *
+         * @param index   Position of the element
+         * @param element Element to accept
+         */
+        void accept(int index, T element);
+
+    }
+
 }
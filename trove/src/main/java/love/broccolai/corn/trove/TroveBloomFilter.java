@@ -0,0 +1,102 @@
+package love.broccolai.corn.trove;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Approximate set of long keys that never reports a false negative, using a fixed amount of
+ * memory no matter how many keys are added.
+ *
+ * <p>Keys should be well distributed 64 bit values such as ids or fingerprints, they are mixed
+ * before use. Filters are not thread safe, parallel builds fill one filter per chunk and merge
+ * them afterwards.</p>
+ */
+@NullMarked
+public interface TroveBloomFilter {
+
+    /**
+     * Create an empty filter sized for an expected amount of keys.
+     *
+     * @param expectedInsertions Amount of keys the filter is sized for
+     * @param fpp                False positive probability once that many keys were added
+     * @return Empty filter
+     */
+    static TroveBloomFilter create(final long expectedInsertions, final double fpp) {
+        return new BlockedBloomFilter(BlockedBloomFilter.shape(expectedInsertions, fpp));
+    }
+
+    /**
+     * Create a filter holding the key of every element of a trove, filling parallel chunks
+     * separately before merging them.
+     *
+     * @param trove              Trove to add the elements of
+     * @param key                Function computing the key of an element
+     * @param expectedInsertions Amount of keys the filter is sized for
+     * @param fpp                False positive probability once that many keys were added
+     * @param <T>                the type of elements
+     * @return Filter of the keys
+     */
+    static <T> TroveBloomFilter of(
+        final Trove<T> trove,
+        final ToLongFunction<? super T> key,
+        final long expectedInsertions,
+        final double fpp
+    ) {
+        BlockedBloomFilter.Shape shape = BlockedBloomFilter.shape(expectedInsertions, fpp);
+
+        return trove.collect(Collector.of(
+            () -> new BlockedBloomFilter(shape),
+            (filter, element) -> filter.put(key.applyAsLong(element)),
+            BlockedBloomFilter::merge,
+            Collector.Characteristics.IDENTITY_FINISH
+        ));
+    }
+
+    /**
+     * Read a filter previously written by {@link #write(DataOutput)}.
+     *
+     * @param input Stream to read from
+     * @return Read filter
+     * @throws IOException if reading fails or the stream does not hold a filter
+     */
+    static TroveBloomFilter read(final DataInput input) throws IOException {
+        return BlockedBloomFilter.read(input);
+    }
+
+    /**
+     * Add a key.
+     *
+     * @param key Key to add
+     * @return true if the key was definitely absent before
+     */
+    boolean put(long key);
+
+    /**
+     * Check whether a key might have been added.
+     *
+     * @param key Key to check
+     * @return false if the key was definitely never added
+     */
+    boolean mightContain(long key);
+
+    /**
+     * Add every key of another filter of the same size into this one.
+     *
+     * @param other Filter to merge in
+     * @return This filter
+     */
+    TroveBloomFilter merge(TroveBloomFilter other);
+
+    /**
+     * Write the filter so it can be read back by {@link #read(DataInput)}.
+     *
+     * @param output Stream to write to
+     * @throws IOException if writing fails
+     */
+    void write(DataOutput output) throws IOException;
+
+}
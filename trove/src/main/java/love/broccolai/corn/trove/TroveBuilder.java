@@ -0,0 +1,85 @@
+package love.broccolai.corn.trove;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Accumulates elements into a trove that may grow beyond {@link Integer#MAX_VALUE} elements.
+ *
+ * @param <T> the type of elements added
+ */
+@NullMarked
+public interface TroveBuilder<T> {
+
+    /**
+     * Create a builder backed by fixed size chunks, so appending never copies earlier elements.
+     *
+     * @param <T> the type of elements added
+     * @return Empty builder
+     */
+    static <T> TroveBuilder<T> create() {
+        return new SegmentedTroveBuilder<>();
+    }
+
+    /**
+     * Create a builder many threads can append to at once without locking.
+     *
+     * <p>Each appending thread fills chunks of its own, which {@link #build()} adopts without
+     * copying. Elements from different threads are interleaved in no particular order, and every
+     * append must happen before {@link #build()} is called, for example by joining the appending
+     * threads first.</p>
+     *
+     * @param <T> the type of elements added
+     * @return Empty concurrent builder
+     */
+    static <T> TroveBuilder<T> concurrent() {
+        return new ConcurrentTroveBuilder<>();
+    }
+
+    /**
+     * Create a builder many threads can append to at once, ordering elements by sequence number.
+     *
+     * @param <T> the type of elements added
+     * @return Empty ordered concurrent builder
+     * @see #concurrent()
+     */
+    static <T> SequencedTroveBuilder<T> concurrentOrdered() {
+        return new ConcurrentSequencedTroveBuilder<>();
+    }
+
+    /**
+     * Append an element.
+     *
+     * @param element Element to append
+     * @return This builder
+     */
+    TroveBuilder<T> add(T element);
+
+    /**
+     * Append every element of an iterable in order.
+     *
+     * @param elements Elements to append
+     * @return This builder
+     */
+    default TroveBuilder<T> addAll(final Iterable<? extends T> elements) {
+        for (T element : elements) {
+            this.add(element);
+        }
+
+        return this;
+    }
+
+    /**
+     * Get the amount of elements appended since the last build.
+     *
+     * @return Amount of elements
+     */
+    long longSize();
+
+    /**
+     * Create a trove of the appended elements and reset this builder to empty.
+     *
+     * @return Trove of the appended elements
+     */
+    Trove<T> build();
+
+}
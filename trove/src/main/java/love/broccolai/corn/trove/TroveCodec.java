@@ -0,0 +1,34 @@
+package love.broccolai.corn.trove;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Writes elements to and reads them back from a binary stream, used to spill troves to disk.
+ *
+ * @param <T> the type of elements encoded
+ */
+@NullMarked
+public interface TroveCodec<T> {
+
+    /**
+     * Write an element.
+     *
+     * @param output  Stream to write to
+     * @param element Element to write
+     * @throws IOException if writing fails
+     */
+    void write(DataOutput output, T element) throws IOException;
+
+    /**
+     * Read an element previously written by {@link #write(DataOutput, Object)}.
+     *
+     * @param input Stream to read from
+     * @return Read element
+     * @throws IOException if reading fails
+     */
+    T read(DataInput input) throws IOException;
+
+}
@@ -0,0 +1,120 @@
+package love.broccolai.corn.trove;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A user defined, possibly stateful, intermediate trove stage.
+ *
+ * <p>Each run creates fresh state through the initializer, passes every element to the
+ * integrator and finally hands the state to the finisher, which may emit trailing elements.
+ * Gatherers that declare a combiner are integrated per chunk when the trove is parallel and
+ * their chunk states merged in encounter order before finishing.</p>
+ *
+ * @param <T> the type of elements consumed
+ * @param <A> the type of the mutable state
+ * @param <R> the type of elements produced
+ */
+@NullMarked
+public interface TroveGatherer<T, A, R> {
+
+    /**
+     * Create a gatherer that always runs sequentially.
+     *
+     * @param initializer Supplier of fresh state
+     * @param integrator  Integrator accepting each element
+     * @param finisher    Finisher emitting trailing elements
+     * @param <T>         the type of elements consumed
+     * @param <A>         the type of the mutable state
+     * @param <R>         the type of elements produced
+     * @return Sequential gatherer
+     */
+    static <T, A, R> TroveGatherer<T, A, R> of(
+        final Supplier<A> initializer,
+        final Integrator<A, T, R> integrator,
+        final BiConsumer<A, Downstream<? super R>> finisher
+    ) {
+        return new TroveGathererImpl<>(initializer, integrator, Optional.empty(), finisher);
+    }
+
+    /**
+     * Create a gatherer that can integrate chunks in parallel.
+     *
+     * @param initializer Supplier of fresh state
+     * @param integrator  Integrator accepting each element
+     * @param combiner    Combiner merging the state of two adjacent chunks
+     * @param finisher    Finisher emitting trailing elements
+     * @param <T>         the type of elements consumed
+     * @param <A>         the type of the mutable state
+     * @param <R>         the type of elements produced
+     * @return Parallelizable gatherer
+     */
+    static <T, A, R> TroveGatherer<T, A, R> of(
+        final Supplier<A> initializer,
+        final Integrator<A, T, R> integrator,
+        final BinaryOperator<A> combiner,
+        final BiConsumer<A, Downstream<? super R>> finisher
+    ) {
+        return new TroveGathererImpl<>(initializer, integrator, Optional.of(combiner), finisher);
+    }
+
+    /**
+     * Get the supplier of fresh state.
+     *
+     * @return State supplier
+     */
+    Supplier<A> initializer();
+
+    /**
+     * Get the integrator accepting each element.
+     *
+     * @return Element integrator
+     */
+    Integrator<A, T, R> integrator();
+
+    /**
+     * Get the combiner merging adjacent chunk states, if the gatherer supports parallel runs.
+     *
+     * @return Optional state combiner
+     */
+    Optional<BinaryOperator<A>> combiner();
+
+    /**
+     * Get the finisher emitting trailing elements once every element was integrated.
+     *
+     * @return State finisher
+     */
+    BiConsumer<A, Downstream<? super R>> finisher();
+
+    @FunctionalInterface
+    interface Integrator<A, T, R> {
+
+        /**
+         * Integrate an element into the state, optionally emitting elements downstream.
+         *
+         * @param state      Current state
+         * @param element    Element to integrate
+         * @param downstream Downstream to push produced elements to
+         * @return false to stop consuming further elements
+         */
+        boolean integrate(A state, T element, Downstream<? super R> downstream);
+
+    }
+
+    @FunctionalInterface
+    interface Downstream<R> {
+
+        /**
+         * Push an element to the next stage.
+         *
+         * @param element Element to push
+         * @return false if the next stage does not want further elements
+         */
+        boolean push(R element);
+
+    }
+
+}
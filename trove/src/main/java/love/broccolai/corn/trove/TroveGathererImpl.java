@@ -0,0 +1,17 @@
+package love.broccolai.corn.trove;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+record TroveGathererImpl<T, A, R>(
+    Supplier<A> initializer,
+    Integrator<A, T, R> integrator,
+    Optional<BinaryOperator<A>> combiner,
+    BiConsumer<A, Downstream<? super R>> finisher
+) implements TroveGatherer<T, A, R> {
+
+}
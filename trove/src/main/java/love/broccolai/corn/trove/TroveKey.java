@@ -0,0 +1,49 @@
+package love.broccolai.corn.trove;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Comparator ordering elements by an extracted key, which joins can recognise.
+ *
+ * <p>A trove sorted by a key and joined on an equal key is merge joined instead of hashed. Keys
+ * are equal when their extractors and orders are, so reuse the same extractor instance, for
+ * example by keeping the key in a constant.</p>
+ *
+ * @param extractor Function extracting the key
+ * @param order     Order of the keys, consistent with their equals
+ * @param <T>       the type of elements
+ * @param <K>       the type of keys
+ */
+@NullMarked
+public record TroveKey<T, K>(Function<? super T, ? extends K> extractor, Comparator<? super K> order) implements Comparator<T> {
+
+    /**
+     * Create a key ordering naturally.
+     *
+     * @param extractor Function extracting the key
+     * @param <T>       the type of elements
+     * @param <K>       the type of keys
+     * @return Key in natural order
+     */
+    public static <T, K extends Comparable<? super K>> TroveKey<T, K> of(final Function<? super T, ? extends K> extractor) {
+        return new TroveKey<>(extractor, Comparator.naturalOrder());
+    }
+
+    /**
+     * Extract the key of an element.
+     *
+     * @param element Element to extract from
+     * @return Key of the element
+     */
+    public K apply(final T element) {
+        return this.extractor.apply(element);
+    }
+
+    @Override
+    public int compare(final T left, final T right) {
+        return this.order.compare(this.extractor.apply(left), this.extractor.apply(right));
+    }
+
+}
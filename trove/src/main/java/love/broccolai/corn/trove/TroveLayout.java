@@ -0,0 +1,42 @@
+package love.broccolai.corn.trove;
+
+import java.nio.ByteBuffer;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Fixed width binary layout of an element, used to store troves outside of the heap.
+ *
+ * <p>Reads and writes use absolute offsets and must not touch the buffer position or any bytes
+ * outside of {@link #width()} bytes from the offset.</p>
+ *
+ * @param <T> the type of elements laid out
+ */
+@NullMarked
+public interface TroveLayout<T> {
+
+    /**
+     * Get the amount of bytes every element occupies.
+     *
+     * @return Width of an element in bytes
+     */
+    int width();
+
+    /**
+     * Write an element.
+     *
+     * @param records Buffer to write to
+     * @param offset  Offset of the element's first byte
+     * @param element Element to write
+     */
+    void write(ByteBuffer records, int offset, T element);
+
+    /**
+     * Read an element previously written by {@link #write(ByteBuffer, int, Object)}.
+     *
+     * @param records Buffer to read from
+     * @param offset  Offset of the element's first byte
+     * @return Read element
+     */
+    T read(ByteBuffer records, int offset);
+
+}
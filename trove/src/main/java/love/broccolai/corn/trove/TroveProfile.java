@@ -0,0 +1,87 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+public final class TroveProfile {
+
+    private final List<StageRecorder> stages = Collections.synchronizedList(new ArrayList<>());
+
+    private TroveProfile() {
+    }
+
+    /**
+     * Create an empty profile to record stages into.
+     *
+     * @return Empty profile
+     */
+    public static TroveProfile create() {
+        return new TroveProfile();
+    }
+
+    /**
+     * Retrieve every stage recorded so far, in execution order.
+     *
+     * <p>Operations on lazy troves only do their work once a terminal operation runs, their
+     * element counts therefore grow with every terminal run while the time and allocations
+     * are attributed to the terminal operation.</p>
+     *
+     * @return Snapshot of the recorded stages
+     */
+    public List<Stage> stages() {
+        List<Stage> result = new ArrayList<>();
+
+        synchronized (this.stages) {
+            for (StageRecorder stage : this.stages) {
+                result.add(stage.snapshot());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Discard every recorded stage.
+     */
+    public void reset() {
+        this.stages.clear();
+    }
+
+    void record(final StageRecorder stage) {
+        this.stages.add(stage);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("TroveProfile[");
+
+        for (Stage stage : this.stages()) {
+            builder.append(System.lineSeparator())
+                .append("  ")
+                .append(stage);
+        }
+
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Measurements taken for a single trove operation.
+     *
+     * <p>Allocated bytes are those of the calling thread and are {@code -1} when the
+     * running JVM does not support thread allocation accounting. Work that parallel troves hand
+     * to the common pool allocates on other threads, so it is missing from these bytes.</p>
+     *
+     * @param name           Name of the operation
+     * @param elementsIn     Elements handed to the operation
+     * @param elementsOut    Elements produced by the operation
+     * @param wallNanos      Wall time spent in the operation
+     * @param allocatedBytes Bytes allocated while the operation ran
+     */
+    public record Stage(String name, long elementsIn, long elementsOut, long wallNanos, long allocatedBytes) {
+
+    }
+
+}
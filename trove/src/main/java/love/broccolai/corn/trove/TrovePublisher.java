@@ -0,0 +1,135 @@
+package love.broccolai.corn.trove;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Publisher running a trove's pipeline on an executor for every subscriber, pausing the
+ * pipeline whenever the subscriber has no outstanding demand.
+ */
+@NullMarked
+final class TrovePublisher<T> implements Flow.Publisher<T> {
+
+    private final Trove<T> trove;
+    private final Executor executor;
+
+    TrovePublisher(final Trove<T> trove, final Executor executor) {
+        this.trove = trove;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        TroveSubscription<T> subscription = new TroveSubscription<>(this.trove, subscriber);
+        subscriber.onSubscribe(subscription);
+
+        this.executor.execute(subscription::run);
+    }
+
+    private static final class TroveSubscription<T> implements Flow.Subscription {
+
+        private final Trove<T> trove;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Object lock = new Object();
+        private long demand;
+        private volatile boolean cancelled;
+        private @Nullable Throwable error;
+
+        // demand claimed from the shared counter, drained without touching the lock
+        private long permits;
+
+        private TroveSubscription(final Trove<T> trove, final Flow.Subscriber<? super T> subscriber) {
+            this.trove = trove;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long amount) {
+            synchronized (this.lock) {
+                if (amount <= 0) {
+                    this.error = new IllegalArgumentException("request amount must be positive, got " + amount);
+                    this.cancelled = true;
+                } else {
+                    this.demand = this.demand + amount < 0 ? Long.MAX_VALUE : this.demand + amount;
+                }
+
+                this.lock.notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this.lock) {
+                this.cancelled = true;
+                this.lock.notifyAll();
+            }
+        }
+
+        private void run() {
+            try {
+                // a sequential view keeps onNext signals serial even for parallel troves
+                this.trove.lazy().first(entry -> !this.emit(entry));
+            } catch (final Throwable throwable) {
+                if (!this.cancelled) {
+                    this.subscriber.onError(throwable);
+                }
+
+                return;
+            }
+
+            Throwable failure;
+
+            synchronized (this.lock) {
+                failure = this.error;
+
+                if (this.cancelled && failure == null) {
+                    return;
+                }
+            }
+
+            if (failure != null) {
+                this.subscriber.onError(failure);
+                return;
+            }
+
+            this.subscriber.onComplete();
+        }
+
+        private boolean emit(final T entry) {
+            if (this.permits == 0 && !this.claim()) {
+                return false;
+            }
+
+            this.permits--;
+            this.subscriber.onNext(entry);
+
+            return !this.cancelled;
+        }
+
+        private boolean claim() {
+            synchronized (this.lock) {
+                try {
+                    while (this.demand == 0 && !this.cancelled) {
+                        this.lock.wait();
+                    }
+                } catch (final InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    this.cancelled = true;
+                }
+
+                if (this.cancelled) {
+                    return false;
+                }
+
+                this.permits = this.demand;
+                this.demand = 0;
+
+                return true;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package love.broccolai.corn.trove;
+
+import java.nio.file.Path;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Memory budget and storage used when sorting or grouping a trove too large for the heap.
+ *
+ * @param codec       Codec to write and read spilled elements with
+ * @param maxInMemory Most elements held in memory at once before spilling to disk
+ * @param directory   Directory temporary files are created in
+ * @param partitions  Amount of partitions elements are hashed into when grouping spills
+ * @param <T>         the type of elements spilled
+ */
+@NullMarked
+public record TroveSpill<T>(TroveCodec<T> codec, int maxInMemory, Path directory, int partitions) {
+
+    public TroveSpill {
+        if (maxInMemory < 1) {
+            throw new IllegalArgumentException("maxInMemory must be positive, got " + maxInMemory);
+        }
+
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be positive, got " + partitions);
+        }
+    }
+
+    /**
+     * Create a spill configuration using the system temporary directory and 16 partitions.
+     *
+     * @param codec       Codec to write and read spilled elements with
+     * @param maxInMemory Most elements held in memory at once before spilling to disk
+     * @param <T>         the type of elements spilled
+     * @return Spill configuration
+     */
+    public static <T> TroveSpill<T> of(final TroveCodec<T> codec, final int maxInMemory) {
+        return new TroveSpill<>(codec, maxInMemory, Path.of(System.getProperty("java.io.tmpdir")), 16);
+    }
+
+    /**
+     * Copy this configuration with another directory for temporary files.
+     *
+     * @param directory Directory temporary files are created in
+     * @return Updated spill configuration
+     */
+    public TroveSpill<T> inDirectory(final Path directory) {
+        return new TroveSpill<>(this.codec, this.maxInMemory, directory, this.partitions);
+    }
+
+    /**
+     * Copy this configuration with another amount of grouping partitions.
+     *
+     * @param partitions Amount of partitions elements are hashed into when grouping spills
+     * @return Updated spill configuration
+     */
+    public TroveSpill<T> withPartitions(final int partitions) {
+        return new TroveSpill<>(this.codec, this.maxInMemory, this.directory, partitions);
+    }
+
+}
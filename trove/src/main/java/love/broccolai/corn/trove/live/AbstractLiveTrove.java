@@ -0,0 +1,81 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import love.broccolai.corn.trove.Trove;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+abstract class AbstractLiveTrove<T> implements LiveTrove<T> {
+
+    // current elements keyed by the identity of the source element they originate from
+    final Map<Object, T> elements = new IdentityHashMap<>();
+    private final List<LiveListener<T>> listeners = new ArrayList<>();
+
+    @Override
+    public LiveTrove<T> filter(final Predicate<T> predicate) {
+        return this.attach(new FilteredLiveTrove<>(predicate));
+    }
+
+    @Override
+    public <R> LiveTrove<R> map(final Function<T, R> mapper) {
+        return this.attach(new MappedLiveTrove<>(mapper));
+    }
+
+    @Override
+    public <K> Map<K, Collection<T>> group(final Function<T, K> grouper) {
+        return this.attach(new LiveGrouping<>(grouper)).view();
+    }
+
+    @Override
+    public <K> Map<K, Long> countBy(final Function<T, K> classifier) {
+        return this.attach(new LiveCounts<>(classifier)).view();
+    }
+
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    @Override
+    public Trove<T> snapshot() {
+        return Trove.of(this.elements.values());
+    }
+
+    final void fireAdded(final Object origin, final T value) {
+        this.elements.put(origin, value);
+
+        for (LiveListener<T> listener : this.listeners) {
+            listener.added(origin, value);
+        }
+    }
+
+    final void fireRemoved(final Object origin) {
+        T value = this.elements.remove(origin);
+
+        for (LiveListener<T> listener : this.listeners) {
+            listener.removed(origin, value);
+        }
+    }
+
+    final void fireUpdated(final Object origin, final T value) {
+        T previous = this.elements.put(origin, value);
+
+        for (LiveListener<T> listener : this.listeners) {
+            listener.updated(origin, previous, value);
+        }
+    }
+
+    private <L extends LiveListener<T>> L attach(final L listener) {
+        this.elements.forEach(listener::added);
+        this.listeners.add(listener);
+
+        return listener;
+    }
+
+}
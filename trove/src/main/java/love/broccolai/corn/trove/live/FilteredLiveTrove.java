@@ -0,0 +1,48 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.function.Predicate;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class FilteredLiveTrove<T> extends AbstractLiveTrove<T> implements LiveListener<T> {
+
+    private final Predicate<T> predicate;
+
+    FilteredLiveTrove(final Predicate<T> predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void added(final Object origin, final T value) {
+        if (this.predicate.test(value)) {
+            this.fireAdded(origin, value);
+        }
+    }
+
+    @Override
+    public void removed(final Object origin, final T value) {
+        if (this.elements.containsKey(origin)) {
+            this.fireRemoved(origin);
+        }
+    }
+
+    @Override
+    public void updated(final Object origin, final T previous, final T value) {
+        boolean present = this.elements.containsKey(origin);
+
+        if (!this.predicate.test(value)) {
+            if (present) {
+                this.fireRemoved(origin);
+            }
+
+            return;
+        }
+
+        if (present) {
+            this.fireUpdated(origin, value);
+        } else {
+            this.fireAdded(origin, value);
+        }
+    }
+
+}
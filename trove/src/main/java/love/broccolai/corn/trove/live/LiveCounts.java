@@ -0,0 +1,55 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class LiveCounts<K, T> implements LiveListener<T> {
+
+    private final Function<T, K> classifier;
+    private final Map<Object, K> keys = new IdentityHashMap<>();
+    private final Map<K, Long> counts = new HashMap<>();
+    private final Map<K, Long> view = Collections.unmodifiableMap(this.counts);
+
+    LiveCounts(final Function<T, K> classifier) {
+        this.classifier = classifier;
+    }
+
+    Map<K, Long> view() {
+        return this.view;
+    }
+
+    @Override
+    public void added(final Object origin, final T value) {
+        K key = this.classifier.apply(value);
+
+        this.keys.put(origin, key);
+        this.counts.merge(key, 1L, Long::sum);
+    }
+
+    @Override
+    public void removed(final Object origin, final T value) {
+        K key = this.keys.remove(origin);
+
+        // a merge returning null drops the key once its count reaches zero
+        this.counts.merge(key, -1L, (current, delta) -> current + delta == 0 ? null : current + delta);
+    }
+
+    @Override
+    public void updated(final Object origin, final T previous, final T value) {
+        K key = this.classifier.apply(value);
+
+        if (Objects.equals(key, this.keys.get(origin))) {
+            return;
+        }
+
+        this.removed(origin, previous);
+        this.added(origin, value);
+    }
+
+}
@@ -0,0 +1,75 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class LiveGrouping<K, T> implements LiveListener<T> {
+
+    private final Function<T, K> grouper;
+    private final Map<Object, K> keys = new IdentityHashMap<>();
+    private final Map<K, Map<Object, T>> buckets = new HashMap<>();
+    private final Map<K, Collection<T>> groups = new HashMap<>();
+    private final Map<K, Collection<T>> view = Collections.unmodifiableMap(this.groups);
+
+    LiveGrouping(final Function<T, K> grouper) {
+        this.grouper = grouper;
+    }
+
+    Map<K, Collection<T>> view() {
+        return this.view;
+    }
+
+    @Override
+    public void added(final Object origin, final T value) {
+        K key = this.grouper.apply(value);
+
+        this.keys.put(origin, key);
+        this.bucket(key).put(origin, value);
+    }
+
+    @Override
+    public void removed(final Object origin, final T value) {
+        K key = this.keys.remove(origin);
+        Map<Object, T> bucket = this.buckets.get(key);
+
+        bucket.remove(origin);
+
+        if (bucket.isEmpty()) {
+            this.buckets.remove(key);
+            this.groups.remove(key);
+        }
+    }
+
+    @Override
+    public void updated(final Object origin, final T previous, final T value) {
+        K key = this.grouper.apply(value);
+
+        if (Objects.equals(key, this.keys.get(origin))) {
+            this.buckets.get(key).put(origin, value);
+            return;
+        }
+
+        this.removed(origin, previous);
+        this.added(origin, value);
+    }
+
+    private Map<Object, T> bucket(final K key) {
+        Map<Object, T> bucket = this.buckets.get(key);
+
+        if (bucket == null) {
+            bucket = new IdentityHashMap<>();
+            this.buckets.put(key, bucket);
+            this.groups.put(key, Collections.unmodifiableCollection(bucket.values()));
+        }
+
+        return bucket;
+    }
+
+}
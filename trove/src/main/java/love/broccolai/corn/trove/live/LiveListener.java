@@ -0,0 +1,20 @@
+package love.broccolai.corn.trove.live;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Receives the changes of a live trove.
+ *
+ * <p>Every change carries the identity of the source element it originates from, so
+ * derived values stay distinguishable even when they are equal or shared.</p>
+ */
+@NullMarked
+interface LiveListener<T> {
+
+    void added(Object origin, T value);
+
+    void removed(Object origin, T value);
+
+    void updated(Object origin, T previous, T value);
+
+}
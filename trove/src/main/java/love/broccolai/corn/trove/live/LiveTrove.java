@@ -0,0 +1,71 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import love.broccolai.corn.trove.Trove;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A view over an {@link ObservableTrove} that is kept up to date as the source changes.
+ *
+ * <p>Derived views apply only the difference caused by each change, so keeping them current
+ * costs time proportional to the number of changes rather than the size of the source.
+ * Views are not thread safe and stay attached to their source for its whole lifetime.</p>
+ *
+ * @param <T> the type of elements in the view
+ */
+@NullMarked
+public interface LiveTrove<T> {
+
+    /**
+     * Create a live view of the elements matching a predicate.
+     *
+     * @param predicate Predicate to test elements with
+     * @return Live filtered view
+     */
+    LiveTrove<T> filter(Predicate<T> predicate);
+
+    /**
+     * Create a live view of every element mapped through a function.
+     *
+     * @param mapper Function to map elements with
+     * @param <R>    the type of mapped elements
+     * @return Live mapped view
+     */
+    <R> LiveTrove<R> map(Function<T, R> mapper);
+
+    /**
+     * Create a live, unmodifiable grouping of the elements.
+     *
+     * @param grouper Function computing the group of an element
+     * @param <K>     the type of group keys
+     * @return Live map of groups, empty groups are removed
+     */
+    <K> Map<K, Collection<T>> group(Function<T, K> grouper);
+
+    /**
+     * Create live, unmodifiable counts of the elements per key.
+     *
+     * @param classifier Function computing the key of an element
+     * @param <K>        the type of keys
+     * @return Live map of counts, keys without elements are removed
+     */
+    <K> Map<K, Long> countBy(Function<T, K> classifier);
+
+    /**
+     * Get the amount of elements currently in the view.
+     *
+     * @return Amount of elements
+     */
+    int size();
+
+    /**
+     * Copy the current elements, in no particular order, into a regular trove.
+     *
+     * @return Trove of the current elements
+     */
+    Trove<T> snapshot();
+
+}
@@ -0,0 +1,30 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.function.Function;
+import org.jspecify.annotations.NullMarked;
+
+@NullMarked
+final class MappedLiveTrove<S, T> extends AbstractLiveTrove<T> implements LiveListener<S> {
+
+    private final Function<S, T> mapper;
+
+    MappedLiveTrove(final Function<S, T> mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void added(final Object origin, final S value) {
+        this.fireAdded(origin, this.mapper.apply(value));
+    }
+
+    @Override
+    public void removed(final Object origin, final S value) {
+        this.fireRemoved(origin);
+    }
+
+    @Override
+    public void updated(final Object origin, final S previous, final S value) {
+        this.fireUpdated(origin, this.mapper.apply(value));
+    }
+
+}
@@ -0,0 +1,87 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.Collection;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A mutable source of elements whose derived {@link LiveTrove} views update incrementally.
+ *
+ * <p>Elements are tracked by identity. Elements mutated in place must be reported through
+ * {@link #update(Object)} so views can re-evaluate them.</p>
+ *
+ * @param <T> the type of elements
+ */
+@NullMarked
+public final class ObservableTrove<T> extends AbstractLiveTrove<T> {
+
+    private ObservableTrove() {
+    }
+
+    /**
+     * Create an empty observable trove.
+     *
+     * @param <T> the type of elements
+     * @return Empty observable trove
+     */
+    public static <T> ObservableTrove<T> create() {
+        return new ObservableTrove<>();
+    }
+
+    /**
+     * Create an observable trove containing the given elements.
+     *
+     * @param elements Elements to add
+     * @param <T>      the type of elements
+     * @return Observable trove containing the elements
+     */
+    public static <T> ObservableTrove<T> of(final Collection<T> elements) {
+        ObservableTrove<T> trove = new ObservableTrove<>();
+        elements.forEach(trove::add);
+
+        return trove;
+    }
+
+    /**
+     * Add an element.
+     *
+     * @param element Element to add
+     * @throws IllegalArgumentException if the element is already present
+     */
+    public void add(final T element) {
+        if (this.elements.containsKey(element)) {
+            throw new IllegalArgumentException("element is already present: " + element);
+        }
+
+        this.fireAdded(element, element);
+    }
+
+    /**
+     * Remove an element.
+     *
+     * @param element Element to remove
+     * @return true if the element was present
+     */
+    public boolean remove(final T element) {
+        if (!this.elements.containsKey(element)) {
+            return false;
+        }
+
+        this.fireRemoved(element);
+        return true;
+    }
+
+    /**
+     * Report that an element changed in place.
+     *
+     * @param element Element that changed
+     * @throws IllegalArgumentException if the element is not present
+     */
+    public void update(final T element) {
+        if (!this.elements.containsKey(element)) {
+            throw new IllegalArgumentException("element is not present: " + element);
+        }
+
+        this.fireUpdated(element, element);
+    }
+
+}
@@ -0,0 +1,68 @@
+package love.broccolai.corn.trove.window;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Combines the panes of consecutive overlapping windows in amortized constant time.
+ *
+ * <p>Invertible aggregations keep a running total and subtract panes as they leave the
+ * window. Minimum and maximum keep a monotonic deque, where panes that can never be the
+ * result again are dropped as soon as a better pane arrives.</p>
+ */
+@NullMarked
+final class PaneDeque {
+
+    private final WindowAggregator<?> aggregator;
+    private final long[] indices;
+    private final long[] values;
+    private int head;
+    private int size;
+    private long total;
+
+    PaneDeque(final WindowAggregator<?> aggregator, final int capacity) {
+        this.aggregator = aggregator;
+        this.indices = new long[capacity];
+        this.values = new long[capacity];
+        this.total = aggregator.identity();
+    }
+
+    void push(final long index, final long value) {
+        if (this.aggregator.invertible()) {
+            this.total = this.aggregator.combine(this.total, value);
+        } else {
+            // drop trailing panes the new pane dominates
+            while (this.size > 0 && this.aggregator.combine(this.values[this.slot(this.size - 1)], value) == value) {
+                this.size--;
+            }
+        }
+
+        int slot = this.slot(this.size);
+        this.indices[slot] = index;
+        this.values[slot] = value;
+        this.size++;
+    }
+
+    void evictBefore(final long index) {
+        while (this.size > 0 && this.indices[this.head] < index) {
+            if (this.aggregator.invertible()) {
+                this.total -= this.values[this.head];
+            }
+
+            this.head = (this.head + 1) % this.indices.length;
+            this.size--;
+        }
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    long result() {
+        return this.aggregator.invertible() ? this.total : this.values[this.head];
+    }
+
+    private int slot(final int offset) {
+        return (this.head + offset) % this.indices.length;
+    }
+
+}
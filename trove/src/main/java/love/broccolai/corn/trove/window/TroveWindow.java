@@ -0,0 +1,231 @@
+package love.broccolai.corn.trove.window;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import love.broccolai.corn.trove.Trove;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Event time window aggregation over a stream of elements.
+ *
+ * <p>Elements are assigned to panes as wide as the window slide and aggregated on arrival.
+ * Windows close once the watermark, the clock's time minus the allowed lateness, passes their
+ * end; each closed window is combined from its panes and emitted. Panes no open window needs
+ * are released, so memory is bounded by the panes of the open windows. Elements arriving for
+ * a window that already closed are dropped and counted as late.</p>
+ *
+ * <p>Instances are not thread safe.</p>
+ *
+ * @param <T> the type of elements aggregated
+ */
+@NullMarked
+public final class TroveWindow<T> {
+
+    private final long slide;
+    private final int panesPerWindow;
+    private final ToLongFunction<? super T> timestamp;
+    private final long lateness;
+    private final Clock clock;
+    private final WindowAggregator<T> aggregator;
+    private final Consumer<WindowResult> sink;
+    private final TreeMap<Long, long[]> panes = new TreeMap<>();
+    private final PaneDeque window;
+
+    // index one past the last pane of the next window to emit
+    private long nextEnd = Long.MIN_VALUE;
+    private long late;
+
+    private TroveWindow(final Builder<T> builder, final WindowAggregator<T> aggregator, final Consumer<WindowResult> sink) {
+        this.slide = builder.slide;
+        this.panesPerWindow = (int) (builder.size / builder.slide);
+        this.timestamp = builder.timestamp;
+        this.lateness = builder.lateness;
+        this.clock = builder.clock;
+        this.aggregator = aggregator;
+        this.sink = sink;
+        this.window = new PaneDeque(aggregator, this.panesPerWindow);
+    }
+
+    /**
+     * Start building windows that do not overlap.
+     *
+     * @param size      Size of each window
+     * @param timestamp Function extracting the event time of an element in epoch milliseconds
+     * @param <T>       the type of elements aggregated
+     * @return Window builder
+     */
+    public static <T> Builder<T> tumbling(final Duration size, final ToLongFunction<? super T> timestamp) {
+        return new Builder<>(size, size, timestamp);
+    }
+
+    /**
+     * Start building windows that overlap, opening a new window every slide.
+     *
+     * @param size      Size of each window, a multiple of the slide
+     * @param slide     Interval between the start of consecutive windows
+     * @param timestamp Function extracting the event time of an element in epoch milliseconds
+     * @param <T>       the type of elements aggregated
+     * @return Window builder
+     */
+    public static <T> Builder<T> sliding(
+        final Duration size,
+        final Duration slide,
+        final ToLongFunction<? super T> timestamp
+    ) {
+        return new Builder<>(size, slide, timestamp);
+    }
+
+    /**
+     * Aggregate an element into every window containing it.
+     *
+     * @param element Element to aggregate
+     * @return false if the element was late and dropped
+     */
+    public boolean accept(final T element) {
+        long pane = Math.floorDiv(this.timestamp.applyAsLong(element), this.slide);
+
+        if (this.nextEnd != Long.MIN_VALUE && pane + 1 < this.nextEnd) {
+            this.late++;
+            return false;
+        }
+
+        long[] value = this.panes.computeIfAbsent(pane, $ -> new long[] {this.aggregator.identity()});
+        value[0] = this.aggregator.accumulate(value[0], element);
+
+        return true;
+    }
+
+    /**
+     * Aggregate every element of a trove, then advance the watermark.
+     *
+     * @param trove Trove of elements to aggregate
+     */
+    public void acceptAll(final Trove<T> trove) {
+        trove.forEach(this::accept);
+        this.advance();
+    }
+
+    /**
+     * Close and emit every window ending at or before the current watermark.
+     */
+    public void advance() {
+        this.advanceTo(this.clock.millis() - this.lateness);
+    }
+
+    /**
+     * Close and emit every window that has received elements, regardless of the watermark.
+     */
+    public void flush() {
+        if (!this.panes.isEmpty()) {
+            this.closeThrough(this.panes.lastKey() + this.panesPerWindow);
+        }
+    }
+
+    /**
+     * Get the amount of elements dropped for arriving after their window closed.
+     *
+     * @return Amount of late elements
+     */
+    public long late() {
+        return this.late;
+    }
+
+    private void advanceTo(final long watermark) {
+        this.closeThrough(Math.floorDiv(watermark, this.slide));
+    }
+
+    private void closeThrough(final long lastEnd) {
+        while (!this.panes.isEmpty() || !this.window.isEmpty()) {
+            // with nothing carried over, skip straight to the first window holding a pane
+            long end = this.window.isEmpty() ? Math.max(this.nextEnd, this.panes.firstKey() + 1) : this.nextEnd;
+
+            if (end > lastEnd) {
+                return;
+            }
+
+            this.nextEnd = end;
+
+            long first = this.nextEnd - this.panesPerWindow;
+            this.window.evictBefore(first);
+
+            long[] pane = this.panes.remove(this.nextEnd - 1);
+
+            if (pane != null) {
+                this.window.push(this.nextEnd - 1, pane[0]);
+            }
+
+            if (!this.window.isEmpty()) {
+                this.sink.accept(new WindowResult(
+                    Instant.ofEpochMilli(first * this.slide),
+                    Instant.ofEpochMilli(this.nextEnd * this.slide),
+                    this.window.result()
+                ));
+            }
+
+            this.nextEnd++;
+            this.window.evictBefore(this.nextEnd - this.panesPerWindow);
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final long size;
+        private final long slide;
+        private final ToLongFunction<? super T> timestamp;
+        private long lateness;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(final Duration size, final Duration slide, final ToLongFunction<? super T> timestamp) {
+            this.size = size.toMillis();
+            this.slide = slide.toMillis();
+            this.timestamp = timestamp;
+
+            if (this.slide <= 0 || this.size <= 0) {
+                throw new IllegalArgumentException("window size and slide must be at least a millisecond");
+            }
+
+            if (this.size % this.slide != 0) {
+                throw new IllegalArgumentException("window size must be a multiple of the slide");
+            }
+        }
+
+        /**
+         * Set how far the watermark trails the clock, giving out of order elements time to arrive.
+         *
+         * @param lateness Allowed lateness
+         * @return This builder
+         */
+        public Builder<T> allowedLateness(final Duration lateness) {
+            this.lateness = lateness.toMillis();
+            return this;
+        }
+
+        /**
+         * Set the clock the watermark is derived from.
+         *
+         * @param clock Clock to read time from
+         * @return This builder
+         */
+        public Builder<T> clock(final Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Build the windows with an aggregator.
+         *
+         * @param aggregator Aggregator to compute per window
+         * @param sink       Consumer receiving each closed window
+         * @return Window aggregation
+         */
+        public TroveWindow<T> aggregate(final WindowAggregator<T> aggregator, final Consumer<WindowResult> sink) {
+            return new TroveWindow<>(this, aggregator, sink);
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package love.broccolai.corn.trove.window;
+
+import java.util.function.ToLongFunction;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * An incremental aggregation computed per window.
+ *
+ * @param <T> the type of elements aggregated
+ */
+@NullMarked
+public final class WindowAggregator<T> {
+
+    private final Kind kind;
+    private final ToLongFunction<? super T> extractor;
+
+    private WindowAggregator(final Kind kind, final ToLongFunction<? super T> extractor) {
+        this.kind = kind;
+        this.extractor = extractor;
+    }
+
+    /**
+     * Count the elements in each window.
+     *
+     * @param <T> the type of elements aggregated
+     * @return Counting aggregator
+     */
+    public static <T> WindowAggregator<T> count() {
+        return new WindowAggregator<>(Kind.SUM, $ -> 1);
+    }
+
+    /**
+     * Sum a value of the elements in each window.
+     *
+     * @param extractor Function extracting the value to sum
+     * @param <T>       the type of elements aggregated
+     * @return Summing aggregator
+     */
+    public static <T> WindowAggregator<T> sum(final ToLongFunction<? super T> extractor) {
+        return new WindowAggregator<>(Kind.SUM, extractor);
+    }
+
+    /**
+     * Find the smallest value of the elements in each window.
+     *
+     * @param extractor Function extracting the value to compare
+     * @param <T>       the type of elements aggregated
+     * @return Minimum aggregator
+     */
+    public static <T> WindowAggregator<T> min(final ToLongFunction<? super T> extractor) {
+        return new WindowAggregator<>(Kind.MIN, extractor);
+    }
+
+    /**
+     * Find the largest value of the elements in each window.
+     *
+     * @param extractor Function extracting the value to compare
+     * @param <T>       the type of elements aggregated
+     * @return Maximum aggregator
+     */
+    public static <T> WindowAggregator<T> max(final ToLongFunction<? super T> extractor) {
+        return new WindowAggregator<>(Kind.MAX, extractor);
+    }
+
+    long identity() {
+        return switch (this.kind) {
+            case SUM -> 0;
+            case MIN -> Long.MAX_VALUE;
+            case MAX -> Long.MIN_VALUE;
+        };
+    }
+
+    long accumulate(final long current, final T element) {
+        return this.combine(current, this.extractor.applyAsLong(element));
+    }
+
+    long combine(final long left, final long right) {
+        return switch (this.kind) {
+            case SUM -> left + right;
+            case MIN -> Math.min(left, right);
+            case MAX -> Math.max(left, right);
+        };
+    }
+
+    boolean invertible() {
+        return this.kind == Kind.SUM;
+    }
+
+    private enum Kind {
+        SUM,
+        MIN,
+        MAX
+    }
+
+}
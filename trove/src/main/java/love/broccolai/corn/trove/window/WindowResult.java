@@ -0,0 +1,16 @@
+package love.broccolai.corn.trove.window;
+
+import java.time.Instant;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * The aggregated value of a closed window.
+ *
+ * @param start Inclusive start of the window
+ * @param end   Exclusive end of the window
+ * @param value Aggregated value of the elements in the window
+ */
+@NullMarked
+public record WindowResult(Instant start, Instant end, long value) {
+
+}
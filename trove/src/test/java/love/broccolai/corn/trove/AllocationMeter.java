@@ -0,0 +1,64 @@
+package love.broccolai.corn.trove;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Measures the bytes the current thread allocates while running an operation.
+ */
+final class AllocationMeter {
+
+    // temporary objects are only scalar replaced once C2 compiles the operation, which takes a few dozen runs
+    private static final int WARMUP_RUNS = 100;
+    private static final int MEASURED_RUNS = 5;
+
+    // results are published here so the operation can never be optimized away
+    private static volatile Object sink;
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * Check whether the running JVM reports per thread allocations.
+     *
+     * @return true if allocations can be measured
+     */
+    static boolean supported() {
+        return ThreadAllocations.currentThread() >= 0;
+    }
+
+    /**
+     * Check whether the running JVM compiles hot code, without which warming up removes no allocations.
+     *
+     * @return true if a JIT compiler is running
+     */
+    static boolean compiling() {
+        return ManagementFactory.getCompilationMXBean() != null
+            && !System.getProperty("java.vm.info", "").contains("interpreted mode");
+    }
+
+    /**
+     * Measure the fewest bytes allocated by any of several runs of an operation, after warming
+     * it up, divided by the amount of elements the operation processes.
+     *
+     * @param elements  Amount of elements processed by a run
+     * @param operation Operation to measure
+     * @return Bytes allocated per element
+     */
+    static double bytesPerElement(final int elements, final Supplier<?> operation) {
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            sink = operation.get();
+        }
+
+        long fewest = Long.MAX_VALUE;
+
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            long before = ThreadAllocations.currentThread();
+            sink = operation.get();
+            fewest = Math.min(fewest, ThreadAllocations.currentThread() - before);
+        }
+
+        return (double) fewest / elements;
+    }
+
+}
@@ -0,0 +1,50 @@
+package love.broccolai.corn.trove;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.google.common.truth.Truth.assertThat;
+
+final class StageEventTest {
+
+    private static final String EVENT = "love.broccolai.corn.trove.Stage";
+
+    @Test
+    void testProfiledStagesEmitEvents(@TempDir final Path directory) throws IOException {
+        Path file = directory.resolve("stages.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT);
+            recording.start();
+
+            Trove.of(Arrays.asList("1", "5", "22", "41"))
+                .profile(TroveProfile.create())
+                .map(Integer::parseInt)
+                .filter(value -> value > 4)
+                .toList();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(EVENT))
+            .toList();
+
+        assertThat(events.stream().map(event -> event.getString("operation")).toList())
+            .containsExactly("map", "filter", "collect")
+            .inOrder();
+
+        RecordedEvent filter = events.get(1);
+        assertThat(filter.getLong("elementsIn")).isEqualTo(4);
+        assertThat(filter.getLong("elementsOut")).isEqualTo(3);
+    }
+
+}
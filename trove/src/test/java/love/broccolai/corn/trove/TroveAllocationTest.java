@@ -0,0 +1,93 @@
+package love.broccolai.corn.trove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// allocation budgets only hold on a plain JIT compiling JVM, coverage agents and debuggers add their own
+@Tag("allocation")
+final class TroveAllocationTest {
+
+    private static final int SIZE = 100_000;
+
+    // one reference slot per element, at most eight bytes without compressed oops
+    private static final double REFERENCE_BYTES = 8.5;
+
+    // fixed per run costs such as iterators and lambdas, spread over every element
+    private static final double ALLOCATION_FREE = 0.1;
+
+    private final Trove<Integer> trove = Trove.of(boxed());
+    private final IntTrove ints = IntTrove.of(this.trove.mapToInt(value -> value).toArray());
+
+    @BeforeEach
+    void requireAllocationMeasurement() {
+        assumeTrue(AllocationMeter.supported(), "JVM does not report per thread allocations");
+        assumeTrue(AllocationMeter.compiling(), "JVM runs interpreted only");
+    }
+
+    @Test
+    void testMapAllocatesOnlyResult() {
+        assertThat(AllocationMeter.bytesPerElement(SIZE, () -> this.trove.map(value -> value))).isAtMost(REFERENCE_BYTES);
+    }
+
+    @Test
+    void testFilterAllocatesOnlySelection() {
+        assertThat(AllocationMeter.bytesPerElement(SIZE, () -> this.trove.filter(value -> (value & 1) == 0))).isAtMost(1.0);
+    }
+
+    @Test
+    void testReduceIsAllocationFree() {
+        assertThat(AllocationMeter.bytesPerElement(SIZE, () -> this.trove.reduce(0, TroveAllocationTest::larger))).isAtMost(ALLOCATION_FREE);
+    }
+
+    @Test
+    void testFirstIsAllocationFree() {
+        assertThat(AllocationMeter.bytesPerElement(SIZE, () -> this.trove.first(value -> value < 0))).isAtMost(ALLOCATION_FREE);
+    }
+
+    @Test
+    void testCollectIsAllocationFree() {
+        assertThat(AllocationMeter.bytesPerElement(SIZE, () -> this.trove.collect(Collectors.counting()))).isAtMost(ALLOCATION_FREE);
+    }
+
+    @Test
+    void testLazyPipelineIsAllocationFree() {
+        assertThat(AllocationMeter.bytesPerElement(SIZE, () -> this.trove.lazy()
+            .filter(value -> (value & 1) == 0)
+            .map(value -> value)
+            .reduce(0, TroveAllocationTest::larger))).isAtMost(ALLOCATION_FREE);
+    }
+
+    @Test
+    void testPrimitivePathsAreAllocationFree() {
+        long[] total = new long[1];
+
+        assertThat(AllocationMeter.bytesPerElement(SIZE, this.ints::sum)).isAtMost(ALLOCATION_FREE);
+        assertThat(AllocationMeter.bytesPerElement(SIZE, () -> {
+            this.ints.forEach(value -> total[0] += value);
+            return total[0];
+        })).isAtMost(ALLOCATION_FREE);
+    }
+
+    private static Integer larger(final Integer left, final Integer right) {
+        // returns an existing instance, as boxing the result would allocate
+        return left >= right ? left : right;
+    }
+
+    private static List<Integer> boxed() {
+        List<Integer> values = new ArrayList<>(SIZE);
+
+        for (int index = 0; index < SIZE; index++) {
+            values.add(index);
+        }
+
+        return values;
+    }
+
+}
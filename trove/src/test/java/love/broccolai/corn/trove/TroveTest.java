@@ -1,10 +1,37 @@
 package love.broccolai.corn.trove;
 
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 final class TroveTest {
     
@@ -17,4 +44,700 @@ final class TroveTest {
         assertThat(result).containsExactly(1, 5, 22, 41);
     }
 
+    @Test
+    void testProfile() {
+        TroveProfile profile = TroveProfile.create();
+
+        List<Integer> result = Trove.of(Arrays.asList("1", "5", "22", "41"))
+            .profile(profile)
+            .map(Integer::parseInt)
+            .filter(value -> value > 4)
+            .toList();
+
+        assertThat(result).containsExactly(5, 22, 41);
+        assertThat(profile.stages()).hasSize(3);
+
+        TroveProfile.Stage filter = profile.stages().get(1);
+        assertThat(filter.name()).isEqualTo("filter");
+        assertThat(filter.elementsIn()).isEqualTo(4);
+        assertThat(filter.elementsOut()).isEqualTo(3);
+    }
+
+    @Test
+    void testIntTrove() {
+        IntTrove trove = Trove.of(Arrays.asList("4", "-2", "9", "7", "1"))
+            .mapToInt(Integer::parseInt);
+
+        assertThat(trove.sum()).isEqualTo(19L);
+        assertThat(trove.min().getAsInt()).isEqualTo(-2);
+        assertThat(trove.max().getAsInt()).isEqualTo(9);
+        assertThat(trove.filterRange(1, 7).toArray()).asList().containsExactly(4, 7, 1).inOrder();
+        assertThat(trove.multiply(2).add(1).toArray()).asList().containsExactly(9, -3, 19, 15, 3).inOrder();
+    }
+
+    @Test
+    void testPrimitiveKernels() {
+        // runs against whichever kernels the JVM resolved, the build runs the tests with and without the vector module
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int length = 0; length <= 131; length++) {
+            int[] ints = random.ints(length).toArray();
+            double[] doubles = random.doubles(length, -1_000, 1_000).toArray();
+
+            if (length > 2) {
+                ints[length / 2] = Integer.MAX_VALUE;
+                ints[length / 3] = Integer.MIN_VALUE;
+                doubles[length / 2] = -0.0;
+                doubles[length / 3] = length % 7 == 0 ? Double.NaN : 0.0;
+            }
+
+            long intSum = 0;
+            int intMin = Integer.MAX_VALUE;
+            int intMax = Integer.MIN_VALUE;
+            double doubleSum = 0;
+            double doubleMin = Double.POSITIVE_INFINITY;
+            double doubleMax = Double.NEGATIVE_INFINITY;
+            List<Integer> intRange = new ArrayList<>();
+            List<Double> doubleRange = new ArrayList<>();
+
+            for (int value : ints) {
+                intSum += value;
+                intMin = Math.min(intMin, value);
+                intMax = Math.max(intMax, value);
+
+                if (value <= -1) {
+                    intRange.add(value);
+                }
+            }
+
+            for (double value : doubles) {
+                doubleSum += value;
+                doubleMin = Math.min(doubleMin, value);
+                doubleMax = Math.max(doubleMax, value);
+
+                if (value >= -100 && value <= 100) {
+                    doubleRange.add(value);
+                }
+            }
+
+            int[] intOutput = new int[length];
+            double[] doubleOutput = new double[length];
+
+            assertThat(PrimitiveKernels.sum(ints, length)).isEqualTo(intSum);
+            assertThat(PrimitiveKernels.min(ints, length)).isEqualTo(intMin);
+            assertThat(PrimitiveKernels.max(ints, length)).isEqualTo(intMax);
+            assertThat(Arrays.copyOf(intOutput, PrimitiveKernels.filterRange(ints, length, Integer.MIN_VALUE, -1, intOutput)))
+                .asList()
+                .isEqualTo(intRange);
+
+            if (Double.isNaN(doubleSum)) {
+                assertThat(PrimitiveKernels.sum(doubles, length)).isNaN();
+            } else {
+                assertThat(PrimitiveKernels.sum(doubles, length)).isWithin(1e-6).of(doubleSum);
+            }
+
+            assertThat(PrimitiveKernels.min(doubles, length)).isEqualTo(doubleMin);
+            assertThat(PrimitiveKernels.max(doubles, length)).isEqualTo(doubleMax);
+            assertThat(Arrays.stream(doubleOutput, 0, PrimitiveKernels.filterRange(doubles, length, -100, 100, doubleOutput)).boxed().toList())
+                .isEqualTo(doubleRange);
+
+            PrimitiveKernels.multiply(ints, length, 3, intOutput);
+            PrimitiveKernels.add(intOutput, length, 7, intOutput);
+
+            for (int index = 0; index < length; index++) {
+                assertThat(intOutput[index]).isEqualTo(ints[index] * 3 + 7);
+            }
+
+            PrimitiveKernels.multiply(doubles, length, 0.5, doubleOutput);
+            PrimitiveKernels.add(doubleOutput, length, -2, doubleOutput);
+
+            for (int index = 0; index < length; index++) {
+                assertThat(doubleOutput[index]).isEqualTo(doubles[index] * 0.5 + -2);
+            }
+        }
+    }
+
+    @Test
+    void testGather() {
+        List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < 10_000; index++) {
+            source.add(index / 3);
+        }
+
+        TroveGatherer<Integer, List<Integer>, Integer> distinctAdjacent = TroveGatherer.of(
+            ArrayList::new,
+            (state, element, downstream) -> {
+                if (state.isEmpty() || !state.get(state.size() - 1).equals(element)) {
+                    state.add(element);
+                }
+
+                return true;
+            },
+            (left, right) -> {
+                if (!left.isEmpty() && !right.isEmpty() && left.get(left.size() - 1).equals(right.get(0))) {
+                    right.remove(0);
+                }
+
+                left.addAll(right);
+                return left;
+            },
+            (state, downstream) -> state.forEach(downstream::push)
+        );
+
+        List<Integer> expected = Trove.of(source).gather(distinctAdjacent).toList();
+
+        assertThat(expected).hasSize(3_334);
+        assertThat(Trove.of(source).lazy().gather(distinctAdjacent).toList()).isEqualTo(expected);
+        assertThat(Trove.of(source).parallel().gather(distinctAdjacent).toList()).isEqualTo(expected);
+    }
+
+    @Test
+    void testPureFilters() {
+        List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < 50_000; index++) {
+            source.add(index);
+        }
+
+        Predicate<Integer> even = value -> value % 2 == 0;
+        Predicate<Integer> tens = value -> value % 10 == 0;
+        Predicate<Integer> small = value -> value < 40_000;
+
+        List<Integer> expected = Trove.of(source).filter(even).filter(tens).filter(small).toList();
+        List<Integer> result = Trove.of(source)
+            .lazy()
+            .filter(Trove.pure(even))
+            .filter(Trove.pure(tens))
+            .filter(Trove.pure(small))
+            .toList();
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testPublisherRoundTrip() {
+        List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < 1_000; index++) {
+            source.add(index);
+        }
+
+        Flow.Publisher<Integer> publisher = Trove.of(source)
+            .parallel()
+            .map(value -> value * 2)
+            .toPublisher();
+
+        List<Integer> result = Trove.fromPublisher(publisher, 16)
+            .filter(value -> value % 3 == 0)
+            .toList();
+
+        assertThat(result).isEqualTo(Trove.of(source).map(value -> value * 2).filter(value -> value % 3 == 0).toList());
+        assertThat(Trove.fromPublisher(publisher, 16).first(value -> value > 100)).hasValue(102);
+    }
+
+    @Test
+    void testPublisherDemand() {
+        Flow.Publisher<Integer> source = Trove.generate(1_000, index -> index).toPublisher();
+        List<Long> requests = new CopyOnWriteArrayList<>();
+
+        Flow.Publisher<Integer> publisher = subscriber -> source.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(final long amount) {
+                        requests.add(amount);
+                        subscription.request(amount);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(final Integer item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+
+        assertThat(Trove.fromPublisher(publisher, 16).toList()).hasSize(1_000);
+        assertThat(Collections.min(requests)).isAtLeast(8L);
+    }
+
+    @Test
+    void testSpillingSort(@TempDir final Path directory) throws IOException {
+        List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < 10_000; index++) {
+            source.add((index * 7_919) % 10_000);
+        }
+
+        TroveCodec<Integer> codec = new TroveCodec<>() {
+            @Override
+            public void write(final DataOutput output, final Integer element) throws IOException {
+                output.writeInt(element);
+            }
+
+            @Override
+            public Integer read(final DataInput input) throws IOException {
+                return input.readInt();
+            }
+        };
+
+        TroveSpill<Integer> spill = TroveSpill.of(codec, 1_000).inDirectory(directory);
+
+        try (CloseableTrove<Integer> sorted = Trove.of(source).sorted(Comparator.naturalOrder(), spill)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.count()).isEqualTo(10);
+            }
+
+            assertThat(sorted.toList()).isInStrictOrder();
+            assertThat(sorted.toList()).hasSize(10_000);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void testFilterChain() {
+        List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < 10_000; index++) {
+            source.add(index);
+        }
+
+        Trove<Integer> dense = Trove.of(source).filter(value -> value % 3 != 0);
+        Trove<Integer> sparse = dense.filter(value -> value % 100 == 1);
+
+        assertThat(dense.first()).hasValue(1);
+        assertThat(dense.last()).hasValue(9_998);
+        assertThat(sparse.toList().subList(0, 4)).containsExactly(1, 101, 301, 401).inOrder();
+        assertThat(sparse.toList()).hasSize(67);
+    }
+
+    @Test
+    void testSpliterator() {
+        List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < 10_000; index++) {
+            source.add(index);
+        }
+
+        Spliterator<Integer> spliterator = Trove.of(source).spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)).isTrue();
+        assertThat(prefix.estimateSize()).isEqualTo(5_000);
+        assertThat(spliterator.estimateSize()).isEqualTo(5_000);
+
+        assertThat(Trove.of(source).parallel().stream().mapToLong(value -> value).sum()).isEqualTo(49_995_000L);
+        assertThat(Trove.of(source).lazy().map(value -> value * 2).stream().limit(2).toList()).containsExactly(0, 2);
+    }
+
+    @Test
+    void testGeneratedSources() {
+        IntTrove range = IntTrove.range(-5, 10);
+
+        assertThat(range.sum()).isEqualTo(30);
+        assertThat(range.filterRange(3, 100).toArray()).asList().containsExactly(3, 4, 5, 6, 7, 8, 9).inOrder();
+
+        long sum = Trove.generate(100_000, index -> (long) index).parallel().reduce(0L, Long::sum);
+        List<String> cells = Trove.grid(new IntRange(0, 2), new IntRange(5, 7), (x, z) -> x + ":" + z).toList();
+
+        assertThat(sum).isEqualTo(4_999_950_000L);
+        assertThat(cells).containsExactly("0:5", "0:6", "1:5", "1:6").inOrder();
+    }
+
+    @Test
+    void testSegmentedBuilder() {
+        TroveBuilder<Integer> builder = TroveBuilder.create();
+
+        for (int index = 0; index < 40_000; index++) {
+            builder.add(40_000 - index);
+        }
+
+        Trove<Integer> trove = builder.build();
+        Spliterator<Integer> spliterator = trove.spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+
+        assertThat(builder.longSize()).isEqualTo(0);
+        assertThat(trove.longSize()).isEqualTo(40_000);
+        assertThat(prefix.estimateSize() % 16_384).isEqualTo(0);
+        assertThat(trove.parallel().map(value -> value * 2L).reduce(0L, Long::sum)).isEqualTo(1_600_040_000L);
+        assertThat(trove.sorted(Comparator.naturalOrder()).first()).hasValue(1);
+        assertThat(trove.parallel().filter(value -> value % 3 != 0).map(value -> value % 3).toList()).hasSize(26_667);
+        assertThat(trove.parallel().filter(value -> value % 7 == 0).toList()).isEqualTo(trove.lazy().filter(value -> value % 7 == 0).toList());
+        assertThat(trove.sortedByInt(value -> value % 10).first()).hasValue(40_000);
+    }
+
+    @Test
+    void testEntries() {
+        Map<String, Integer> source = new LinkedHashMap<>();
+        source.put("a", 1);
+        source.put("b", 2);
+        source.put("c", 3);
+
+        BiTrove<String, Integer> trove = Trove.ofEntries(source)
+            .filter((key, value) -> value != 2)
+            .mapValues(value -> value * 10);
+
+        assertThat(trove.toMap()).containsExactly("a", 10, "c", 30).inOrder();
+        assertThat(trove.toTrove((key, value) -> key + value).toList()).containsExactly("a10", "c30").inOrder();
+
+        source.put("d", 4);
+
+        assertThat(trove.keys().toList()).containsExactly("a", "c", "d").inOrder();
+    }
+
+    @Test
+    void testEntriesWithNulls() {
+        Map<String, Integer> source = new LinkedHashMap<>();
+        source.put(null, 1);
+        source.put("b", null);
+        source.put("c", 3);
+
+        BiTrove<String, Integer> trove = Trove.ofEntries(source).filter((key, value) -> !"c".equals(key));
+
+        assertThat(trove.entries().toList()).containsExactly(
+            new AbstractMap.SimpleImmutableEntry<>(null, 1),
+            new AbstractMap.SimpleImmutableEntry<>("b", null)
+        ).inOrder();
+        assertThat(trove.keys().toList()).containsExactly(null, "b").inOrder();
+        assertThat(trove.values().toList()).containsExactly(1, null).inOrder();
+        assertThat(trove.mapValues(value -> value == null ? -1 : value).toMap()).containsExactly(null, 1, "b", -1).inOrder();
+        assertThat(Trove.ofEntries(trove.toMap()).entries().toList()).isEqualTo(trove.entries().toList());
+    }
+
+    @Test
+    void testParallelSearch() {
+        Trove<Integer> trove = Trove.generate(200_000, index -> index).parallel();
+
+        assertThat(trove.first(value -> value % 10_000 == 9_999)).hasValue(9_999);
+        assertThat(trove.last(value -> value % 10_000 == 1)).hasValue(190_001);
+        assertThat(trove.findAny(value -> value % 50_000 == 3).map(value -> value % 50_000)).hasValue(3);
+        assertThat(trove.anyMatch(value -> value == 199_999)).isTrue();
+        assertThat(trove.allMatch(value -> value < 199_999)).isFalse();
+        assertThat(trove.noneMatch(value -> value < 0)).isTrue();
+    }
+
+    @Test
+    void testOffHeap() {
+        TroveLayout<Integer> layout = new TroveLayout<>() {
+            @Override
+            public int width() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(final ByteBuffer records, final int offset, final Integer element) {
+                records.putInt(offset, element);
+            }
+
+            @Override
+            public Integer read(final ByteBuffer records, final int offset) {
+                return records.getInt(offset);
+            }
+        };
+
+        OffHeapTrove<Integer> trove = OffHeapTrove.of(List.of(5, 8, 13, 21), layout);
+        OffHeapTrove<Integer> odd = trove.filterRecords((records, offset) -> (records.getInt(offset) & 1) == 1);
+
+        assertThat(trove.map(value -> value * 2).toList()).containsExactly(10, 16, 26, 42).inOrder();
+        assertThat(odd.reduceRecords(0, (sum, records, offset) -> sum + records.getInt(offset))).isEqualTo(39);
+
+        Trove<Integer> view = trove.lazy();
+        Trove<Integer> doubled = trove.map(value -> value * 2);
+
+        trove.close();
+        odd.close();
+        odd.close();
+
+        assertThrows(IllegalStateException.class, trove::size);
+        assertThrows(IllegalStateException.class, view::toList);
+        assertThat(doubled.toList()).containsExactly(10, 16, 26, 42).inOrder();
+    }
+
+    @Test
+    void testConcurrentBuilder() throws InterruptedException {
+        TroveBuilder<Integer> builder = TroveBuilder.concurrent();
+        SequencedTroveBuilder<Integer> ordered = TroveBuilder.concurrentOrdered();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread;
+
+            threads.add(new Thread(() -> {
+                for (int value = offset; value < 40_000; value += 4) {
+                    builder.add(value);
+                    ordered.add(value, value);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Trove<Integer> unordered = builder.build();
+        List<Integer> sequenced = ordered.build().toList();
+
+        assertThat(unordered.longSize()).isEqualTo(40_000);
+        assertThat(unordered.reduce(0, Integer::sum)).isEqualTo(799_980_000);
+        assertThat(sequenced).isInOrder();
+        assertThat(sequenced).hasSize(40_000);
+
+        // appending against the order leaves every chunk descending, so each one is sorted before the merge
+        for (int value = 39_999; value >= 0; value--) {
+            ordered.add(value, value);
+        }
+
+        assertThat(ordered.build().toList()).isEqualTo(sequenced);
+        assertThat(ordered.longSize()).isEqualTo(0);
+    }
+
+    @Test
+    void testPrimitiveKeySort() {
+        List<String> source = List.of("b3", "a-7", "c3", "d0", "e-7", "f2147483647", "g-2147483648");
+        List<String> expected = List.of("g-2147483648", "a-7", "e-7", "d0", "b3", "c3", "f2147483647");
+
+        assertThat(Trove.of(source).sortedByInt(value -> Integer.parseInt(value.substring(1))).toList())
+            .containsExactlyElementsIn(expected).inOrder();
+        assertThat(Trove.of(source).sortedByLong(value -> Long.parseLong(value.substring(1))).toList())
+            .containsExactlyElementsIn(expected).inOrder();
+        assertThat(Trove.of(source).parallel().sorted(Comparator.comparingInt(value -> Integer.parseInt(value.substring(1)))).toList())
+            .containsExactlyElementsIn(expected).inOrder();
+    }
+
+    @Test
+    void testDenseGrouping() {
+        Trove<Integer> trove = Trove.generate(10, index -> index);
+
+        Map<TimeUnit, Collection<Integer>> units = trove.groupByEnum(TimeUnit.class, value -> value < 3 ? TimeUnit.SECONDS : TimeUnit.DAYS);
+        List<Trove<Integer>> buckets = trove.parallel().groupByIndex(4, value -> value % 3);
+
+        assertThat(units.keySet()).containsExactly(TimeUnit.SECONDS, TimeUnit.DAYS).inOrder();
+        assertThat(units.get(TimeUnit.SECONDS)).containsExactly(0, 1, 2).inOrder();
+        assertThat(buckets.get(1).toList()).containsExactly(1, 4, 7).inOrder();
+        assertThat(buckets.get(3).toList()).isEmpty();
+    }
+
+    @Test
+    void testSortedLookups() {
+        SortedTrove<Integer> sorted = Trove.of(List.of(5, 1, 9, 3, 3, 7)).sorted(Comparator.naturalOrder());
+
+        assertThat(sorted.lowerBound(3)).isEqualTo(1);
+        assertThat(sorted.upperBound(3)).isEqualTo(3);
+        assertThat(sorted.floor(4)).hasValue(3);
+        assertThat(sorted.ceiling(10)).isEmpty();
+        assertThat(sorted.range(3, 8).toList()).containsExactly(3, 3, 5, 7).inOrder();
+    }
+
+    @Test
+    void testLazySortedSortsOnce() {
+        int[] sorts = new int[1];
+        SortedTrove<Integer> sorted = Trove.of(List.of(5, 1, 9, 3, 3, 7))
+            .lazy()
+            .map(value -> {
+                sorts[0]++;
+                return value;
+            })
+            .sorted(Comparator.naturalOrder());
+
+        assertThat(sorts[0]).isEqualTo(0);
+        assertThat(sorted.lowerBound(3)).isEqualTo(1);
+        assertThat(sorted.floor(4)).hasValue(3);
+        assertThat(sorted.ceiling(8)).hasValue(9);
+        assertThat(sorted.range(3, 8).toList()).containsExactly(3, 3, 5, 7).inOrder();
+        assertThat(sorted.toList()).containsExactly(1, 3, 3, 5, 7, 9).inOrder();
+        assertThat(sorts[0]).isEqualTo(6);
+    }
+
+    @Test
+    void testProfiledSortedLookups() {
+        Trove<Integer> source = Trove.of(List.of(5, 1, 9, 3, 3, 7));
+        TroveProfile profile = TroveProfile.create();
+
+        // sorts into something other than a sorted list trove
+        Trove<Integer> custom = new ForwardingTrove<>() {
+            @Override
+            Trove<Integer> delegate() {
+                return source;
+            }
+
+            @Override
+            public SortedTrove<Integer> sorted(final Comparator<? super Integer> comparator) {
+                return new ProfilingSortedTrove<>(source.sorted(comparator), TroveProfile.create());
+            }
+        };
+
+        SortedTrove<Integer> sorted = custom.profile(profile).sorted(Comparator.naturalOrder());
+
+        assertThat(sorted.lowerBound(3)).isEqualTo(1);
+        assertThat(sorted.range(3, 8).map(value -> value * 2).toList()).containsExactly(6, 6, 10, 14).inOrder();
+        assertThat(profile.stages().get(0).name()).isEqualTo("sorted");
+        assertThat(profile.stages().get(1).name()).isEqualTo("map");
+    }
+
+    @Test
+    void testSortedJoin() {
+        TroveKey<String, Integer> length = TroveKey.of(String::length);
+        TroveKey<Integer, Integer> identity = TroveKey.of(value -> value);
+
+        Trove<String> words = Trove.of(List.of("ccc", "a", "bb", "dd"));
+        Trove<Integer> sizes = Trove.of(List.of(2, 3, 4));
+
+        List<String> hashed = words.join(sizes, length, identity, (word, size) -> word + size).toList();
+        List<String> merged = words.sorted(length).join(sizes.sorted(identity), length, identity, (word, size) -> word + size).toList();
+
+        assertThat(hashed).containsExactly("ccc3", "bb2", "dd2").inOrder();
+        assertThat(merged).containsExactly("bb2", "dd2", "ccc3").inOrder();
+    }
+
+    @Test
+    void testIndexedStages() {
+        Trove<String> trove = Trove.generate(5000, index -> "v" + index);
+        List<String> positions = new ArrayList<>();
+
+        trove.lazy().filterIndexed((index, $) -> index % 1000 == 0).forEachIndexed((index, value) -> positions.add(index + value));
+
+        assertThat(trove.parallel().mapIndexed((index, value) -> value.equals("v" + index)).toList()).doesNotContain(false);
+        assertThat(trove.filterIndexed((index, $) -> index > 4997).toList()).containsExactly("v4998", "v4999").inOrder();
+        assertThat(trove.filter(value -> value.endsWith("0")).filterIndexed((index, $) -> index % 250 == 1).toList())
+            .containsExactly("v10", "v2510").inOrder();
+        assertThat(positions).containsExactly("0v0", "1v1000", "2v2000", "3v3000", "4v4000").inOrder();
+    }
+
+    @Test
+    void testBloomFilter(@TempDir final Path directory) throws IOException {
+        Trove<Long> ids = Trove.generate(20_000, index -> (long) index % 5_000);
+
+        TroveBloomFilter filter = TroveBloomFilter.of(ids.parallel(), id -> id, 5_000, 0.01);
+        Path file = directory.resolve("ids.bloom");
+
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            filter.write(output);
+        }
+
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+            TroveBloomFilter read = TroveBloomFilter.read(input);
+
+            assertThat(ids.allMatch(read::mightContain)).isTrue();
+            assertThat(read.merge(filter)).isSameInstanceAs(read);
+        }
+
+        assertThat(ids.approxDistinct(id -> id, 5_000, 0.001).longSize()).isAtLeast(4_980L);
+        assertThrows(IllegalArgumentException.class, () -> filter.merge(TroveBloomFilter.create(10, 0.01)));
+    }
+
+    @Test
+    void testBatchedSinks() {
+        Trove<Integer> trove = Trove.generate(10, index -> index);
+        List<List<Integer>> batches = new ArrayList<>();
+        List<Integer> written = new ArrayList<>();
+
+        trove.parallel().forEachBatch(4, batch -> batches.add(List.copyOf(batch)));
+        trove.forEachBatchAsync(3, batch -> CompletableFuture.runAsync(() -> written.addAll(batch)), 1).join();
+
+        CompletableFuture<Void> failed = trove.forEachBatchAsync(2, batch -> batch.contains(4)
+            ? CompletableFuture.failedFuture(new IllegalStateException("write failed"))
+            : CompletableFuture.completedFuture(null), 2);
+
+        assertThat(batches).containsExactly(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9)).inOrder();
+        assertThat(written).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).inOrder();
+        assertThat(assertThrows(CompletionException.class, failed::join)).hasCauseThat().hasMessageThat().isEqualTo("write failed");
+
+        CompletableFuture<Void> slow = new CompletableFuture<>();
+        List<Integer> submitted = new ArrayList<>();
+
+        CompletableFuture<Void> stopped = trove.forEachBatchAsync(2, batch -> {
+            submitted.add(batch.get(0));
+
+            return batch.get(0) == 0 ? slow : CompletableFuture.failedFuture(new IllegalStateException("write failed"));
+        }, 3);
+
+        // the failure stops submissions at once, but the result waits for the batch still in flight
+        assertThat(submitted).containsExactly(0, 2).inOrder();
+        assertThat(stopped.isDone()).isFalse();
+
+        slow.complete(null);
+
+        assertThat(assertThrows(CompletionException.class, stopped::join)).hasCauseThat().hasMessageThat().isEqualTo("write failed");
+    }
+
+    @Test
+    void testCompiledPipeline() {
+        Trove<Integer> trove = Trove.generate(100, index -> index);
+        Trove<Integer> compiled = trove.compile()
+            .filter(value -> value % 3 == 0)
+            .map(value -> value / 3);
+
+        assertThat(compiled.toList()).isEqualTo(trove.filter(value -> value % 3 == 0).map(value -> value / 3).toList());
+        assertThat(compiled.reduce(0, Integer::sum)).isEqualTo(561);
+        assertThat(compiled.first(value -> value > 20)).hasValue(21);
+        assertThat(compiled.first(value -> value > 40)).isEmpty();
+        assertThat(compiled.sorted(Comparator.reverseOrder()).first()).hasValue(33);
+
+        // pipelines of the same shape share it, but never each other's functions
+        for (int divisor = 1; divisor <= 3; divisor++) {
+            int captured = divisor;
+            assertThat(trove.compile().map(value -> value / captured).reduce(0, Integer::sum))
+                .isEqualTo(trove.map(value -> value / captured).reduce(0, Integer::sum));
+        }
+
+        Trove<String> recorded = trove.lazy()
+            .filter(value -> value % 3 == 0)
+            .map(value -> "#" + value)
+            .compile();
+
+        assertThat(recorded.toList()).isEqualTo(compiled.map(value -> "#" + value * 3).toList());
+        assertThat(recorded.first(value -> value.length() > 2)).hasValue("#12");
+
+        Trove<Integer> parallel = Trove.generate(10_000, index -> index).parallel().compile().map(value -> value * 2);
+
+        assertThat(parallel.reduce(0, Integer::sum)).isEqualTo(99_990_000);
+        assertThat(parallel.first(value -> value > 15_000)).hasValue(15_002);
+        assertThat(parallel.collect(Collectors.toList())).isEqualTo(Trove.generate(10_000, index -> index * 2).toList());
+        assertThat(parallel.mapIndexed((index, value) -> value - index).stream().isParallel()).isTrue();
+    }
+
+    @Test
+    void testCompiledSegmentedPipeline() {
+        TroveBuilder<Integer> builder = TroveBuilder.create();
+
+        for (int index = 0; index < 40_000; index++) {
+            builder.add(index);
+        }
+
+        Trove<Integer> trove = builder.build();
+
+        for (Trove<Integer> source : List.of(trove, trove.parallel())) {
+            Trove<Long> compiled = source.compile().filter(value -> value % 2 == 0).map(value -> value * 3L);
+
+            assertThat(compiled.reduce(0L, Long::sum)).isEqualTo(1_199_940_000L);
+            assertThat(compiled.first(value -> value > 60_000)).hasValue(60_006L);
+            assertThat(compiled.longSize()).isEqualTo(20_000);
+            assertThat(compiled.mapIndexed(($, value) -> value).spliterator()).isInstanceOf(SegmentSpliterator.class);
+        }
+    }
+
 }
@@ -0,0 +1,60 @@
+package love.broccolai.corn.trove.live;
+
+import java.util.Collection;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+final class ObservableTroveTest {
+
+    @Test
+    void testIncrementalViews() {
+        Counter red = new Counter("red", 10);
+        Counter blue = new Counter("blue", 0);
+        Counter green = new Counter("red", 5);
+
+        ObservableTrove<Counter> source = ObservableTrove.create();
+        source.add(red);
+        source.add(blue);
+
+        LiveTrove<Counter> positive = source.filter(counter -> counter.value > 0);
+        Map<String, Long> counts = positive.countBy(counter -> counter.team);
+        Map<Boolean, Collection<Integer>> values = positive
+            .map(counter -> counter.value)
+            .group(value -> value > 6);
+
+        source.add(green);
+
+        assertThat(counts).containsExactly("red", 2L);
+        assertThat(values.get(true)).containsExactly(10);
+        assertThat(values.get(false)).containsExactly(5);
+
+        blue.value = 20;
+        source.update(blue);
+        red.value = 0;
+        source.update(red);
+
+        assertThat(counts).containsExactly("red", 1L, "blue", 1L);
+        assertThat(values.get(true)).containsExactly(20);
+
+        source.remove(green);
+
+        assertThat(counts).containsExactly("blue", 1L);
+        assertThat(values).doesNotContainKey(false);
+        assertThat(positive.size()).isEqualTo(1);
+    }
+
+    private static final class Counter {
+
+        private final String team;
+        private int value;
+
+        private Counter(final String team, final int value) {
+            this.team = team;
+            this.value = value;
+        }
+
+    }
+
+}
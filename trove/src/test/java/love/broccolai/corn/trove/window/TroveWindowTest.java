@@ -0,0 +1,96 @@
+package love.broccolai.corn.trove.window;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+final class TroveWindowTest {
+
+    @Test
+    void testSlidingMax() {
+        ManualClock clock = new ManualClock();
+        List<WindowResult> results = new ArrayList<>();
+
+        TroveWindow<long[]> windows = TroveWindow.<long[]>sliding(Duration.ofSeconds(3), Duration.ofSeconds(1), event -> event[0])
+            .clock(clock)
+            .aggregate(WindowAggregator.max(event -> event[1]), results::add);
+
+        windows.accept(new long[] {100, 5});
+        windows.accept(new long[] {1_500, 9});
+        windows.accept(new long[] {2_100, 1});
+        windows.accept(new long[] {5_200, 3});
+
+        clock.millis = 4_000;
+        windows.advance();
+
+        assertThat(results).containsExactly(
+            new WindowResult(Instant.ofEpochMilli(-2_000), Instant.ofEpochMilli(1_000), 5),
+            new WindowResult(Instant.ofEpochMilli(-1_000), Instant.ofEpochMilli(2_000), 9),
+            new WindowResult(Instant.ofEpochMilli(0), Instant.ofEpochMilli(3_000), 9),
+            new WindowResult(Instant.ofEpochMilli(1_000), Instant.ofEpochMilli(4_000), 9)
+        ).inOrder();
+
+        assertThat(windows.accept(new long[] {1_200, 100})).isFalse();
+        assertThat(windows.late()).isEqualTo(1);
+    }
+
+    @Test
+    void testTumblingCount() {
+        ManualClock clock = new ManualClock();
+        List<WindowResult> results = new ArrayList<>();
+
+        TroveWindow<Long> windows = TroveWindow.<Long>tumbling(Duration.ofSeconds(2), event -> event)
+            .clock(clock)
+            .allowedLateness(Duration.ofSeconds(1))
+            .aggregate(WindowAggregator.count(), results::add);
+
+        windows.accept(100L);
+        windows.accept(1_900L);
+        windows.accept(2_000L);
+
+        clock.millis = 2_500;
+        windows.advance();
+        assertThat(results).isEmpty();
+
+        clock.millis = 3_000;
+        windows.advance();
+        assertThat(results).containsExactly(new WindowResult(Instant.ofEpochMilli(0), Instant.ofEpochMilli(2_000), 2));
+
+        windows.flush();
+        assertThat(results).hasSize(2);
+    }
+
+    private static final class ManualClock extends Clock {
+
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+    }
+
+}
@@ -0,0 +1,245 @@
+package love.broccolai.corn.trove;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Array kernels for the primitive troves written against the incubating vector API, so they run
+ * as SIMD instructions of the widest shape the CPU prefers instead of relying on the JIT to
+ * vectorize scalar loops.
+ *
+ * <p>Only {@link PrimitiveKernels} refers to this class, and only once the vector module is
+ * resolved. Every kernel finishes the elements past the last whole vector with a scalar tail.</p>
+ */
+@NullMarked
+final class VectorKernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    static long sum(final int[] values, final int length) {
+        LongVector lanes = LongVector.zero(LONGS);
+        int bound = INTS.loopBound(length);
+        int index = 0;
+
+        // ints are widened to longs half a vector at a time, so lanes never overflow
+        for (; index < bound; index += INTS.length()) {
+            IntVector vector = IntVector.fromArray(INTS, values, index);
+
+            lanes = lanes.add((LongVector) vector.convertShape(VectorOperators.I2L, LONGS, 0));
+            lanes = lanes.add((LongVector) vector.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+
+        long result = lanes.reduceLanes(VectorOperators.ADD);
+
+        for (; index < length; index++) {
+            result += values[index];
+        }
+
+        return result;
+    }
+
+    static double sum(final double[] values, final int length) {
+        DoubleVector lanes = DoubleVector.zero(DOUBLES);
+        int bound = DOUBLES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += DOUBLES.length()) {
+            lanes = lanes.add(DoubleVector.fromArray(DOUBLES, values, index));
+        }
+
+        double result = lanes.reduceLanes(VectorOperators.ADD);
+
+        for (; index < length; index++) {
+            result += values[index];
+        }
+
+        return result;
+    }
+
+    static int min(final int[] values, final int length) {
+        IntVector lanes = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int bound = INTS.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += INTS.length()) {
+            lanes = lanes.min(IntVector.fromArray(INTS, values, index));
+        }
+
+        int result = lanes.reduceLanes(VectorOperators.MIN);
+
+        for (; index < length; index++) {
+            result = Math.min(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static int max(final int[] values, final int length) {
+        IntVector lanes = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int bound = INTS.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += INTS.length()) {
+            lanes = lanes.max(IntVector.fromArray(INTS, values, index));
+        }
+
+        int result = lanes.reduceLanes(VectorOperators.MAX);
+
+        for (; index < length; index++) {
+            result = Math.max(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static double min(final double[] values, final int length) {
+        // lane wise min follows Math.min, so NaN and negative zero behave as in the scalar kernels
+        DoubleVector lanes = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int bound = DOUBLES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += DOUBLES.length()) {
+            lanes = lanes.min(DoubleVector.fromArray(DOUBLES, values, index));
+        }
+
+        double result = lanes.reduceLanes(VectorOperators.MIN);
+
+        for (; index < length; index++) {
+            result = Math.min(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static double max(final double[] values, final int length) {
+        DoubleVector lanes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int bound = DOUBLES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += DOUBLES.length()) {
+            lanes = lanes.max(DoubleVector.fromArray(DOUBLES, values, index));
+        }
+
+        double result = lanes.reduceLanes(VectorOperators.MAX);
+
+        for (; index < length; index++) {
+            result = Math.max(result, values[index]);
+        }
+
+        return result;
+    }
+
+    static int filterRange(final int[] values, final int length, final int min, final int max, final int[] output) {
+        int bound = INTS.loopBound(length);
+        int count = 0;
+        int index = 0;
+
+        // the output is as long as the input and count never passes index, so whole vectors fit
+        for (; index < bound; index += INTS.length()) {
+            IntVector vector = IntVector.fromArray(INTS, values, index);
+            VectorMask<Integer> mask = vector.compare(VectorOperators.GE, min).and(vector.compare(VectorOperators.LE, max));
+
+            vector.compress(mask).intoArray(output, count);
+            count += mask.trueCount();
+        }
+
+        for (; index < length; index++) {
+            int value = values[index];
+            output[count] = value;
+            count += value >= min & value <= max ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    static int filterRange(
+        final double[] values,
+        final int length,
+        final double min,
+        final double max,
+        final double[] output
+    ) {
+        int bound = DOUBLES.loopBound(length);
+        int count = 0;
+        int index = 0;
+
+        for (; index < bound; index += DOUBLES.length()) {
+            DoubleVector vector = DoubleVector.fromArray(DOUBLES, values, index);
+            VectorMask<Double> mask = vector.compare(VectorOperators.GE, min).and(vector.compare(VectorOperators.LE, max));
+
+            vector.compress(mask).intoArray(output, count);
+            count += mask.trueCount();
+        }
+
+        for (; index < length; index++) {
+            double value = values[index];
+            output[count] = value;
+            count += value >= min & value <= max ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    static void add(final int[] values, final int length, final int operand, final int[] output) {
+        int bound = INTS.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += INTS.length()) {
+            IntVector.fromArray(INTS, values, index).add(operand).intoArray(output, index);
+        }
+
+        for (; index < length; index++) {
+            output[index] = values[index] + operand;
+        }
+    }
+
+    static void add(final double[] values, final int length, final double operand, final double[] output) {
+        int bound = DOUBLES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, values, index).add(operand).intoArray(output, index);
+        }
+
+        for (; index < length; index++) {
+            output[index] = values[index] + operand;
+        }
+    }
+
+    static void multiply(final int[] values, final int length, final int operand, final int[] output) {
+        int bound = INTS.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += INTS.length()) {
+            IntVector.fromArray(INTS, values, index).mul(operand).intoArray(output, index);
+        }
+
+        for (; index < length; index++) {
+            output[index] = values[index] * operand;
+        }
+    }
+
+    static void multiply(final double[] values, final int length, final double operand, final double[] output) {
+        int bound = DOUBLES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, values, index).mul(operand).intoArray(output, index);
+        }
+
+        for (; index < length; index++) {
+            output[index] = values[index] * operand;
+        }
+    }
+
+}